@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import walkingkooka.watch.ConcurrentWatchers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConcurrentWatchers#accept(Object)} throughput as firing threads are added, run with increasing
+ * thread counts to confirm fires scale across cores, eg
+ * <pre>
+ * java -jar benchmarks.jar ConcurrentWatchersBenchmark.fire -t 1
+ * java -jar benchmarks.jar ConcurrentWatchersBenchmark.fire -t 4
+ * java -jar benchmarks.jar ConcurrentWatchersBenchmark.fire -t 8
+ * </pre>
+ * The mixed group fires from three threads while a fourth adds and removes a watcher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentWatchersBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int watcherCount;
+
+    private ConcurrentWatchers<Object> watchers;
+
+    private final Object event = new Object();
+
+    @Setup
+    public void setup() {
+        final ConcurrentWatchers<Object> watchers = ConcurrentWatchers.create();
+
+        for (int i = 0; i < this.watcherCount; i++) {
+            watchers.add((e) -> Blackhole.consumeCPU(1));
+        }
+
+        this.watchers = watchers;
+    }
+
+    @Benchmark
+    public void fire() {
+        this.watchers.accept(this.event);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public void mixedFire() {
+        this.watchers.accept(this.event);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedAddRemove() {
+        this.watchers.add((e) -> Blackhole.consumeCPU(1))
+            .run();
+    }
+}
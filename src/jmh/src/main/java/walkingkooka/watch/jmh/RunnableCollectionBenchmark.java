@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import walkingkooka.watch.Watchers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running the {@link Runnable} returned by {@link Watchers#runnableCollection(List)}, which should not
+ * allocate when no runnable fails. Run with the GC profiler to report the allocation rate, eg
+ * <pre>
+ * java -jar benchmarks.jar RunnableCollectionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunnableCollectionBenchmark {
+
+    @Param({"2", "10", "1000"})
+    public int runnableCount;
+
+    private Runnable runnable;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        final List<Runnable> runnables = new ArrayList<>();
+        for (int i = 0; i < this.runnableCount; i++) {
+            runnables.add(() -> blackhole.consume(this));
+        }
+
+        this.runnable = Watchers.runnableCollection(runnables);
+    }
+
+    @Benchmark
+    public void run() {
+        this.runnable.run();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import walkingkooka.watch.Watchers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures {@link Watchers#accept(Object)} with a number of watchers, where a percentage of those watchers are one
+ * time watchers added again before each fire. A steady state fire with only persistent watchers should not allocate,
+ * run with the GC profiler to confirm, eg
+ * <pre>
+ * java -jar benchmarks.jar WatchersAcceptBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WatchersAcceptBenchmark {
+
+    @Param({"0", "1", "10", "1000"})
+    public int watcherCount;
+
+    @Param({"0", "10", "50"})
+    public int oncePercent;
+
+    private Watchers<Object> watchers;
+
+    private Consumer<Object> watcher;
+
+    private int onceCount;
+
+    private final Object event = new Object();
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        final Watchers<Object> watchers = Watchers.create();
+        final Consumer<Object> watcher = blackhole::consume;
+
+        final int onceCount = this.watcherCount * this.oncePercent / 100;
+        for (int i = onceCount; i < this.watcherCount; i++) {
+            watchers.add(watcher);
+        }
+
+        this.watchers = watchers;
+        this.watcher = watcher;
+        this.onceCount = onceCount;
+    }
+
+    @Benchmark
+    public void accept() {
+        final Watchers<Object> watchers = this.watchers;
+        final Consumer<Object> watcher = this.watcher;
+
+        for (int i = 0; i < this.onceCount; i++) {
+            watchers.addOnce(watcher);
+        }
+
+        watchers.accept(this.event);
+    }
+}
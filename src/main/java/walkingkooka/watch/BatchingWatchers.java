@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link Consumer} that buffers events, delivering them as a {@link List} to its watchers when either the maximum
+ * size is reached or the maximum delay since the first buffered event expires. Time is read from the given clock, and
+ * a task to flush an expired batch is given to the {@link WatchersScheduler}.
+ */
+public final class BatchingWatchers<T> implements Consumer<T> {
+
+    /**
+     * Creates a new {@link BatchingWatchers}, the delay and clock should both use milliseconds.
+     */
+    public static <T> BatchingWatchers<T> with(final int maxSize,
+                                               final long maxDelay,
+                                               final LongSupplier clock,
+                                               final WatchersScheduler scheduler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Invalid maxSize " + maxSize + " <= 0");
+        }
+        if (maxDelay <= 0) {
+            throw new IllegalArgumentException("Invalid maxDelay " + maxDelay + " <= 0");
+        }
+
+        return new BatchingWatchers<>(
+            maxSize,
+            maxDelay,
+            Objects.requireNonNull(clock, "clock"),
+            Objects.requireNonNull(scheduler, "scheduler")
+        );
+    }
+
+    private BatchingWatchers(final int maxSize,
+                             final long maxDelay,
+                             final LongSupplier clock,
+                             final WatchersScheduler scheduler) {
+        super();
+        this.maxSize = maxSize;
+        this.maxDelay = maxDelay;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * {@see Watchers#add(Consumer)}
+     */
+    public Runnable add(final Consumer<List<T>> watcher) {
+        return this.watchers.add(watcher);
+    }
+
+    /**
+     * {@see Watchers#addOnce(Consumer)}
+     */
+    public Runnable addOnce(final Consumer<List<T>> watcher) {
+        return this.watchers.addOnce(watcher);
+    }
+
+    /**
+     * {@see Watchers#addAll(Collection)}
+     */
+    public Runnable addAll(final Collection<Consumer<List<T>>> watchers) {
+        return this.watchers.addAll(watchers);
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.watchers.removeOnce();
+    }
+
+    /**
+     * Buffers the event, delivering the batch if it is full or older than the maximum delay.
+     */
+    @Override
+    public void accept(final T source) {
+        Objects.requireNonNull(source, "source");
+
+        List<T> batch = this.batch;
+        if (batch.isEmpty()) {
+            this.started = this.clock.getAsLong();
+
+            final int generation = this.generation;
+            this.scheduler.schedule(
+                () -> this.expired(generation),
+                this.maxDelay
+            );
+        }
+
+        batch.add(source);
+
+        if (batch.size() >= this.maxSize || this.clock.getAsLong() - this.started >= this.maxDelay) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Ignores a scheduled task for a batch that was already delivered.
+     */
+    private void expired(final int generation) {
+        if (this.generation == generation) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Delivers any buffered events immediately.
+     */
+    public void flush() {
+        final List<T> batch = this.batch;
+
+        if (false == batch.isEmpty()) {
+            this.batch = Lists.array();
+            this.generation++;
+
+            this.watchers.accept(
+                Collections.unmodifiableList(batch)
+            );
+        }
+    }
+
+    private final int maxSize;
+
+    private final long maxDelay;
+
+    private final LongSupplier clock;
+
+    private final WatchersScheduler scheduler;
+
+    private final Watchers<List<T>> watchers = Watchers.create();
+
+    private List<T> batch = Lists.array();
+
+    /**
+     * The clock when the first event of the current batch was buffered.
+     */
+    private long started;
+
+    /**
+     * Incremented each time a batch is delivered, so tasks scheduled for earlier batches do nothing.
+     */
+    private int generation;
+
+    @Override
+    public String toString() {
+        return this.watchers.toString();
+    }
+}
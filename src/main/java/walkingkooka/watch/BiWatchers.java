@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link BiConsumer} that fires two values to its watchers, so notifications such as a source and a new value need no
+ * holder object. It supports the same add, addOnce, removeOnce and remover contract as {@link Watchers}, and watchers
+ * are fired on the calling thread.
+ */
+public final class BiWatchers<A, B> implements BiConsumer<A, B> {
+
+    /**
+     * Creates an empty {@link BiWatchers}.
+     */
+    public static <A, B> BiWatchers<A, B> create() {
+        return new BiWatchers<>();
+    }
+
+    private BiWatchers() {
+        super();
+    }
+
+    /**
+     * {@see Watchers#add(java.util.function.Consumer)}
+     */
+    public Runnable add(final BiConsumer<A, B> watcher) {
+        return this.add(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#add(int, java.util.function.Consumer)}
+     */
+    public Runnable add(final int priority,
+                        final BiConsumer<A, B> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.add(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final BiConsumer<A, B> watcher) {
+        return this.addOnce(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(int, java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final int priority,
+                            final BiConsumer<A, B> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.addOnce(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.registrations.takeOnce();
+    }
+
+    /**
+     * Fires the values to all watchers, with the same ordering and failure handling as {@link Watchers#accept(Object)}.
+     * Values are not checked and may be null.
+     */
+    @Override
+    public void accept(final A first,
+                       final B second) {
+        // restored afterwards, so a watcher firing again does not change the values given to later watchers
+        final A previousFirst = this.first;
+        final B previousSecond = this.second;
+        this.first = first;
+        this.second = second;
+        try {
+            this.registrations.fire(
+                BiWatchers::invoke,
+                this
+            );
+        } finally {
+            this.first = previousFirst;
+            this.second = previousSecond;
+        }
+    }
+
+    private static <A, B> void invoke(final BiConsumer<A, B> watcher,
+                                      final BiWatchers<A, B> watchers) {
+        watcher.accept(
+            watchers.first,
+            watchers.second
+        );
+    }
+
+    /**
+     * The values being fired.
+     */
+    private A first;
+    private B second;
+
+    private final WatchersRegistrations<BiConsumer<A, B>> registrations = WatchersRegistrations.create();
+
+    @Override
+    public String toString() {
+        return this.registrations.toString();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Consumer} that coalesces a burst of events, so watchers only receive the latest event when the burst is
+ * flushed. Each fire replaces a single pending event, which is delivered by {@link #flush()}, by a task given to a
+ * {@link WatchersScheduler}, or at the end of the outermost {@link #accept(Object)}.
+ */
+public final class CoalescingWatchers<T> implements Consumer<T> {
+
+    /**
+     * Creates a {@link CoalescingWatchers} that only delivers the pending event when {@link #flush()} is called.
+     */
+    public static <T> CoalescingWatchers<T> manual() {
+        return new CoalescingWatchers<>(
+            null,
+            false
+        );
+    }
+
+    /**
+     * Creates a {@link CoalescingWatchers} that schedules a flush when the first event of a burst is fired.
+     */
+    public static <T> CoalescingWatchers<T> scheduled(final WatchersScheduler scheduler) {
+        return new CoalescingWatchers<>(
+            Objects.requireNonNull(scheduler, "scheduler"),
+            false
+        );
+    }
+
+    /**
+     * Creates a {@link CoalescingWatchers} that delivers each event immediately, except for events fired by a watcher
+     * during a delivery, which are coalesced and delivered after the outermost {@link #accept(Object)} completes its
+     * delivery.
+     */
+    public static <T> CoalescingWatchers<T> outermost() {
+        return new CoalescingWatchers<>(
+            null,
+            true
+        );
+    }
+
+    private CoalescingWatchers(final WatchersScheduler scheduler,
+                               final boolean outermost) {
+        super();
+        this.scheduler = scheduler;
+        this.outermost = outermost;
+    }
+
+    /**
+     * {@see Watchers#add(Consumer)}
+     */
+    public Runnable add(final Consumer<T> watcher) {
+        return this.watchers.add(watcher);
+    }
+
+    /**
+     * {@see Watchers#addOnce(Consumer)}
+     */
+    public Runnable addOnce(final Consumer<T> watcher) {
+        return this.watchers.addOnce(watcher);
+    }
+
+    /**
+     * {@see Watchers#addAll(Collection)}
+     */
+    public Runnable addAll(final Collection<Consumer<T>> watchers) {
+        return this.watchers.addAll(watchers);
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.watchers.removeOnce();
+    }
+
+    /**
+     * Replaces any pending event, which will be delivered by the next flush.
+     */
+    @Override
+    public void accept(final T source) {
+        Objects.requireNonNull(source, "source");
+
+        this.pending = source;
+
+        final WatchersScheduler scheduler = this.scheduler;
+        if (null != scheduler) {
+            if (false == this.scheduled) {
+                this.scheduled = true;
+                scheduler.schedule(
+                    this::scheduledFlush,
+                    0
+                );
+            }
+        } else {
+            if (this.outermost && false == this.flushing) {
+                this.flushing = true;
+                try {
+                    while (null != this.pending) {
+                        this.flush();
+                    }
+                } finally {
+                    this.flushing = false;
+                }
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        this.scheduled = false;
+        this.flush();
+    }
+
+    /**
+     * Delivers the pending event if one is present.
+     */
+    public void flush() {
+        final T pending = this.pending;
+        if (null != pending) {
+            this.pending = null;
+            this.watchers.accept(pending);
+        }
+    }
+
+    /**
+     * Returns true if an event is waiting to be flushed.
+     */
+    public boolean isPending() {
+        return null != this.pending;
+    }
+
+    private final Watchers<T> watchers = Watchers.create();
+
+    /**
+     * The latest event not yet delivered.
+     */
+    private T pending;
+
+    /**
+     * When present, a flush is scheduled for the first event of each burst.
+     */
+    private final WatchersScheduler scheduler;
+
+    /**
+     * True when a scheduled flush has not yet run.
+     */
+    private boolean scheduled;
+
+    /**
+     * When true events are delivered at the end of the outermost {@link #accept(Object)}.
+     */
+    private final boolean outermost;
+
+    /**
+     * True while the outermost {@link #accept(Object)} is delivering.
+     */
+    private boolean flushing;
+
+    @Override
+    public String toString() {
+        return this.watchers.toString();
+    }
+}
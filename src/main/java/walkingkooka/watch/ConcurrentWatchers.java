@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A thread safe alternative to {@link Watchers}, supporting many threads firing while other threads add or remove
+ * watchers. Registrations are held in immutable arrays which are replaced using compare and set, a fire only reads the
+ * current arrays unless one time watchers are present. Each one time watcher is fired exactly once even when
+ * {@link #accept(Object)} is called concurrently.
+ * <br>
+ * This class is not available in GWT or J2CL.
+ */
+public final class ConcurrentWatchers<T> implements Consumer<T> {
+
+    /**
+     * Creates an empty {@link ConcurrentWatchers}
+     */
+    public static <T> ConcurrentWatchers<T> create() {
+        return new ConcurrentWatchers<>();
+    }
+
+    private ConcurrentWatchers() {
+        super();
+    }
+
+    /**
+     * Adds a new watcher which may be removed by calling the returned {@link Runnable}.
+     */
+    public Runnable add(final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.add0(
+            watcher,
+            false,
+            this.watchers
+        );
+    }
+
+    /**
+     * Adds a new watcher which will be removed after a single fire.
+     */
+    public Runnable addOnce(final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.add0(
+            watcher,
+            true,
+            this.once
+        );
+    }
+
+    private Runnable add0(final Consumer<T> watcher,
+                          final boolean once,
+                          final AtomicReference<ConcurrentWatchersRegistration<T>[]> registrations) {
+        final ConcurrentWatchersRegistration<T> registration = ConcurrentWatchersRegistration.with(
+            watcher,
+            this,
+            once,
+            this.sequence.getAndIncrement()
+        );
+
+        for (; ; ) {
+            final ConcurrentWatchersRegistration<T>[] current = registrations.get();
+            final int count = current.length;
+
+            final ConcurrentWatchersRegistration<T>[] replaced = Arrays.copyOf(
+                current,
+                count + 1
+            );
+            replaced[count] = registration;
+
+            if (registrations.compareAndSet(current, replaced)) {
+                break;
+            }
+        }
+
+        return registration;
+    }
+
+    /**
+     * Removes the given registration, which will only be called once by {@link ConcurrentWatchersRegistration#run()}.
+     */
+    void remove(final ConcurrentWatchersRegistration<T> registration) {
+        final AtomicReference<ConcurrentWatchersRegistration<T>[]> registrations = registration.once ?
+            this.once :
+            this.watchers;
+
+        for (; ; ) {
+            final ConcurrentWatchersRegistration<T>[] current = registrations.get();
+            final int index = indexOf(
+                registration,
+                current
+            );
+            // one time registration already taken by a fire
+            if (-1 == index) {
+                break;
+            }
+
+            final int count = current.length;
+            final ConcurrentWatchersRegistration<T>[] replaced = Arrays.copyOf(
+                current,
+                count - 1
+            );
+            System.arraycopy(
+                current,
+                index + 1,
+                replaced,
+                index,
+                count - index - 1
+            );
+
+            if (registrations.compareAndSet(current, replaced)) {
+                break;
+            }
+        }
+    }
+
+    private static <T> int indexOf(final ConcurrentWatchersRegistration<T> registration,
+                                   final ConcurrentWatchersRegistration<T>[] registrations) {
+        int index = -1;
+
+        final int count = registrations.length;
+        for (int i = 0; i < count; i++) {
+            if (registration == registrations[i]) {
+                index = i;
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Remove any {@link Consumer} watchers that were added using {@link #addOnce(Consumer)}.
+     */
+    public void removeOnce() {
+        for (final ConcurrentWatchersRegistration<T> registration : this.takeOnce()) {
+            registration.remove();
+        }
+    }
+
+    /**
+     * Atomically takes all the one time registrations, avoiding a write when there are none so concurrent fires with
+     * only persistent watchers never contend.
+     */
+    private ConcurrentWatchersRegistration<T>[] takeOnce() {
+        final AtomicReference<ConcurrentWatchersRegistration<T>[]> once = this.once;
+
+        return once.get().length == 0 ?
+            empty() :
+            once.getAndSet(empty());
+    }
+
+    /**
+     * Fire an event to all watchers, one time and persistent watchers are fired in the order they were added.
+     */
+    @Override
+    public void accept(final T source) {
+        Objects.requireNonNull(source, "source");
+
+        final ConcurrentWatchersRegistration<T>[] watchers = this.watchers.get();
+        final ConcurrentWatchersRegistration<T>[] once = this.takeOnce();
+
+        final int watchersCount = watchers.length;
+        final int onceCount = once.length;
+
+        int i = 0;
+        int j = 0;
+
+        while (i < watchersCount || j < onceCount) {
+            if (j < onceCount && (i == watchersCount || once[j].sequence - watchers[i].sequence < 0)) {
+                final ConcurrentWatchersRegistration<T> registration = once[j];
+                j++;
+
+                // only the thread that deactivates a one time registration fires it
+                if (registration.remove()) {
+                    registration.watcher.accept(source);
+                }
+            } else {
+                final ConcurrentWatchersRegistration<T> registration = watchers[i];
+                i++;
+
+                if (registration.isActive()) {
+                    registration.watcher.accept(source);
+                }
+            }
+        }
+    }
+
+    private final AtomicReference<ConcurrentWatchersRegistration<T>[]> watchers = new AtomicReference<>(empty());
+
+    private final AtomicReference<ConcurrentWatchersRegistration<T>[]> once = new AtomicReference<>(empty());
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private static <T> ConcurrentWatchersRegistration<T>[] empty() {
+        return Cast.to(EMPTY);
+    }
+
+    private final static ConcurrentWatchersRegistration<?>[] EMPTY = new ConcurrentWatchersRegistration[0];
+
+    @Override
+    public String toString() {
+        final List<Consumer<T>> watchers = Lists.array();
+
+        for (final ConcurrentWatchersRegistration<T> registration : this.watchers.get()) {
+            watchers.add(registration.watcher);
+        }
+        for (final ConcurrentWatchersRegistration<T> registration : this.once.get()) {
+            watchers.add(registration.watcher);
+        }
+
+        return watchers.toString();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A registration within a {@link ConcurrentWatchers}, and also the {@link Runnable} handle that removes it. The active
+ * flag is cleared with a compare and set so removal and firing a one time watcher happen exactly once.
+ */
+final class ConcurrentWatchersRegistration<T> implements Runnable {
+
+    static <T> ConcurrentWatchersRegistration<T> with(final Consumer<T> watcher,
+                                                      final ConcurrentWatchers<T> watchers,
+                                                      final boolean once,
+                                                      final int sequence) {
+        return new ConcurrentWatchersRegistration<>(
+            watcher,
+            watchers,
+            once,
+            sequence
+        );
+    }
+
+    private ConcurrentWatchersRegistration(final Consumer<T> watcher,
+                                           final ConcurrentWatchers<T> watchers,
+                                           final boolean once,
+                                           final int sequence) {
+        super();
+        this.watcher = watcher;
+        this.watchers = watchers;
+        this.once = once;
+        this.sequence = sequence;
+    }
+
+    // Runnable.........................................................................................................
+
+    @Override
+    public void run() {
+        if (this.remove()) {
+            this.watchers.remove(this);
+        }
+    }
+
+    /**
+     * Marks this registration as removed, returning true only for the first caller.
+     */
+    boolean remove() {
+        return this.active.compareAndSet(
+            true,
+            false
+        );
+    }
+
+    boolean isActive() {
+        return this.active.get();
+    }
+
+    final Consumer<T> watcher;
+    private final ConcurrentWatchers<T> watchers;
+
+    final boolean once;
+
+    final int sequence;
+
+    private final AtomicBoolean active = new AtomicBoolean(true);
+
+    @Override
+    public String toString() {
+        return this.watcher.toString()
+            .concat(
+                this.isActive() ?
+                    " Active" :
+                    " Removed"
+            );
+    }
+}
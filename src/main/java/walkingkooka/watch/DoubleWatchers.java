@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A {@link DoubleConsumer} that fires double values to its watchers without boxing, supporting the same add, addOnce, removeOnce
+ * and remover contract as {@link Watchers}. Watchers are fired on the calling thread, and a fire with only persistent
+ * watchers does not allocate.
+ */
+public final class DoubleWatchers implements DoubleConsumer {
+
+    /**
+     * Creates an empty {@link DoubleWatchers}.
+     */
+    public static DoubleWatchers create() {
+        return new DoubleWatchers();
+    }
+
+    private DoubleWatchers() {
+        super();
+    }
+
+    /**
+     * {@see Watchers#add(java.util.function.Consumer)}
+     */
+    public Runnable add(final DoubleConsumer watcher) {
+        return this.add(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#add(int, java.util.function.Consumer)}
+     */
+    public Runnable add(final int priority,
+                        final DoubleConsumer watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.add(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final DoubleConsumer watcher) {
+        return this.addOnce(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(int, java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final int priority,
+                            final DoubleConsumer watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.addOnce(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.registrations.takeOnce();
+    }
+
+    /**
+     * Fires the value to all watchers, with the same ordering and failure handling as {@link Watchers#accept(Object)}.
+     */
+    @Override
+    public void accept(final double value) {
+        // restored afterwards, so a watcher firing again does not change the value given to later watchers
+        final double previous = this.value;
+        this.value = value;
+        try {
+            this.registrations.fire(
+                DoubleWatchers::invoke,
+                this
+            );
+        } finally {
+            this.value = previous;
+        }
+    }
+
+    private static void invoke(final DoubleConsumer watcher,
+                               final DoubleWatchers watchers) {
+        watcher.accept(watchers.value);
+    }
+
+    /**
+     * The value being fired.
+     */
+    private double value;
+
+    private final WatchersRegistrations<DoubleConsumer> registrations = WatchersRegistrations.create();
+
+    @Override
+    public String toString() {
+        return this.registrations.toString();
+    }
+}
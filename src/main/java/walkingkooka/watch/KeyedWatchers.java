@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import walkingkooka.collect.map.Maps;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Watchers grouped by key, where firing an event with a key only visits the watchers added for that key. Each key has
+ * its own {@link Watchers} which is discarded as soon as its last watcher is removed, so memory remains proportional to
+ * the number of watchers.
+ */
+public final class KeyedWatchers<K, T> implements BiConsumer<K, T> {
+
+    /**
+     * Creates an empty {@link KeyedWatchers}
+     */
+    public static <K, T> KeyedWatchers<K, T> create() {
+        return new KeyedWatchers<>();
+    }
+
+    private KeyedWatchers() {
+        super();
+    }
+
+    /**
+     * Adds a new watcher for the given key, which may be removed by calling the returned {@link Runnable}.
+     */
+    public Runnable add(final K key,
+                        final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        final Watchers<T> watchers = this.getOrCreate(key);
+        return KeyedWatchersRemovingRunnable.with(
+            key,
+            watchers.add(watcher),
+            watchers,
+            this
+        );
+    }
+
+    /**
+     * Adds a new watcher for the given key, which will be removed after a single fire of that key.
+     */
+    public Runnable addOnce(final K key,
+                            final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        final Watchers<T> watchers = this.getOrCreate(key);
+        return KeyedWatchersRemovingRunnable.with(
+            key,
+            watchers.addOnce(watcher),
+            watchers,
+            this
+        );
+    }
+
+    private Watchers<T> getOrCreate(final K key) {
+        Objects.requireNonNull(key, "key");
+
+        final Map<K, Watchers<T>> keyToWatchers = this.keyToWatchers;
+
+        Watchers<T> watchers = keyToWatchers.get(key);
+        if (null == watchers) {
+            watchers = Watchers.create();
+            keyToWatchers.put(
+                key,
+                watchers
+            );
+        }
+
+        return watchers;
+    }
+
+    /**
+     * Removes any one time watchers for the given key.
+     */
+    public void removeOnce(final K key) {
+        Objects.requireNonNull(key, "key");
+
+        final Watchers<T> watchers = this.keyToWatchers.get(key);
+        if (null != watchers) {
+            watchers.removeOnce();
+            this.removeIfEmpty(
+                key,
+                watchers
+            );
+        }
+    }
+
+    /**
+     * Fires the event to only the watchers for the given key.
+     */
+    @Override
+    public void accept(final K key,
+                       final T source) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(source, "source");
+
+        final Watchers<T> watchers = this.keyToWatchers.get(key);
+        if (null != watchers) {
+            try {
+                watchers.accept(source);
+            } finally {
+                // one time watchers may have emptied the key
+                this.removeIfEmpty(
+                    key,
+                    watchers
+                );
+            }
+        }
+    }
+
+    /**
+     * Removes the {@link Watchers} for the key if it is empty, unless it has already been replaced.
+     */
+    void removeIfEmpty(final K key,
+                       final Watchers<T> watchers) {
+        if (watchers.isEmpty()) {
+            final Map<K, Watchers<T>> keyToWatchers = this.keyToWatchers;
+
+            if (watchers == keyToWatchers.get(key)) {
+                keyToWatchers.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys with at least one watcher.
+     */
+    public int keyCount() {
+        return this.keyToWatchers.size();
+    }
+
+    private final Map<K, Watchers<T>> keyToWatchers = Maps.hash();
+
+    @Override
+    public String toString() {
+        return this.keyToWatchers.toString();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+/**
+ * A {@link Runnable} that removes a watcher from the {@link Watchers} for a key, and then removes the key from the
+ * {@link KeyedWatchers} if it has no more watchers.
+ */
+final class KeyedWatchersRemovingRunnable<K, T> implements Runnable {
+
+    static <K, T> KeyedWatchersRemovingRunnable<K, T> with(final K key,
+                                                           final Runnable remover,
+                                                           final Watchers<T> watchers,
+                                                           final KeyedWatchers<K, T> keyed) {
+        return new KeyedWatchersRemovingRunnable<>(
+            key,
+            remover,
+            watchers,
+            keyed
+        );
+    }
+
+    private KeyedWatchersRemovingRunnable(final K key,
+                                          final Runnable remover,
+                                          final Watchers<T> watchers,
+                                          final KeyedWatchers<K, T> keyed) {
+        super();
+        this.key = key;
+        this.remover = remover;
+        this.watchers = watchers;
+        this.keyed = keyed;
+    }
+
+    // Runnable.........................................................................................................
+
+    @Override
+    public void run() {
+        this.remover.run();
+        this.keyed.removeIfEmpty(
+            this.key,
+            this.watchers
+        );
+    }
+
+    private final K key;
+    private final Runnable remover;
+    private final Watchers<T> watchers;
+    private final KeyedWatchers<K, T> keyed;
+
+    @Override
+    public String toString() {
+        return this.key + " " + this.remover;
+    }
+}
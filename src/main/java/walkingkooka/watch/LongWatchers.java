@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * A {@link LongConsumer} that fires long values to its watchers without boxing, supporting the same add, addOnce, removeOnce
+ * and remover contract as {@link Watchers}. Watchers are fired on the calling thread, and a fire with only persistent
+ * watchers does not allocate.
+ */
+public final class LongWatchers implements LongConsumer {
+
+    /**
+     * Creates an empty {@link LongWatchers}.
+     */
+    public static LongWatchers create() {
+        return new LongWatchers();
+    }
+
+    private LongWatchers() {
+        super();
+    }
+
+    /**
+     * {@see Watchers#add(java.util.function.Consumer)}
+     */
+    public Runnable add(final LongConsumer watcher) {
+        return this.add(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#add(int, java.util.function.Consumer)}
+     */
+    public Runnable add(final int priority,
+                        final LongConsumer watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.add(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final LongConsumer watcher) {
+        return this.addOnce(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(int, java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final int priority,
+                            final LongConsumer watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.addOnce(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.registrations.takeOnce();
+    }
+
+    /**
+     * Fires the value to all watchers, with the same ordering and failure handling as {@link Watchers#accept(Object)}.
+     */
+    @Override
+    public void accept(final long value) {
+        // restored afterwards, so a watcher firing again does not change the value given to later watchers
+        final long previous = this.value;
+        this.value = value;
+        try {
+            this.registrations.fire(
+                LongWatchers::invoke,
+                this
+            );
+        } finally {
+            this.value = previous;
+        }
+    }
+
+    private static void invoke(final LongConsumer watcher,
+                               final LongWatchers watchers) {
+        watcher.accept(watchers.value);
+    }
+
+    /**
+     * The value being fired.
+     */
+    private long value;
+
+    private final WatchersRegistrations<LongConsumer> registrations = WatchersRegistrations.create();
+
+    @Override
+    public String toString() {
+        return this.registrations.toString();
+    }
+}
@@ -19,6 +19,7 @@ package walkingkooka.watch;
 
 import walkingkooka.collect.list.Lists;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -49,13 +50,14 @@ final class RunnableCollection implements Runnable {
     }
 
     private RunnableCollection(final List<Runnable> runnables) {
-        this.runnables = runnables;
+        this.runnables = runnables.toArray(new Runnable[0]);
     }
 
     @Override
     public void run() {
         RuntimeException thrown = null;
 
+        // iterating an array rather than a List avoids allocating an Iterator for each run
         for(final Runnable runnable : this.runnables) {
             try {
                 runnable.run();
@@ -73,10 +75,10 @@ final class RunnableCollection implements Runnable {
         }
     }
 
-    private final List<Runnable> runnables;
+    private final Runnable[] runnables;
 
     @Override
     public String toString() {
-        return this.runnables.toString();
+        return Arrays.toString(this.runnables);
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+
+/**
+ * A {@link TriConsumer} that fires three values to its watchers, so notifications such as a source, old value and new
+ * value need no holder object. It supports the same add, addOnce, removeOnce and remover contract as {@link Watchers},
+ * and watchers are fired on the calling thread.
+ */
+public final class TriWatchers<A, B, C> implements TriConsumer<A, B, C> {
+
+    /**
+     * Creates an empty {@link TriWatchers}.
+     */
+    public static <A, B, C> TriWatchers<A, B, C> create() {
+        return new TriWatchers<>();
+    }
+
+    private TriWatchers() {
+        super();
+    }
+
+    /**
+     * {@see Watchers#add(java.util.function.Consumer)}
+     */
+    public Runnable add(final TriConsumer<A, B, C> watcher) {
+        return this.add(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#add(int, java.util.function.Consumer)}
+     */
+    public Runnable add(final int priority,
+                        final TriConsumer<A, B, C> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.add(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final TriConsumer<A, B, C> watcher) {
+        return this.addOnce(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#addOnce(int, java.util.function.Consumer)}
+     */
+    public Runnable addOnce(final int priority,
+                            final TriConsumer<A, B, C> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return this.registrations.addOnce(
+            priority,
+            watcher
+        );
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.registrations.takeOnce();
+    }
+
+    /**
+     * Fires the values to all watchers, with the same ordering and failure handling as {@link Watchers#accept(Object)}.
+     * Values are not checked and may be null.
+     */
+    @Override
+    public void accept(final A first,
+                       final B second,
+                       final C third) {
+        // restored afterwards, so a watcher firing again does not change the values given to later watchers
+        final A previousFirst = this.first;
+        final B previousSecond = this.second;
+        final C previousThird = this.third;
+        this.first = first;
+        this.second = second;
+        this.third = third;
+        try {
+            this.registrations.fire(
+                TriWatchers::invoke,
+                this
+            );
+        } finally {
+            this.first = previousFirst;
+            this.second = previousSecond;
+            this.third = previousThird;
+        }
+    }
+
+    private static <A, B, C> void invoke(final TriConsumer<A, B, C> watcher,
+                                         final TriWatchers<A, B, C> watchers) {
+        watcher.accept(
+            watchers.first,
+            watchers.second,
+            watchers.third
+        );
+    }
+
+    /**
+     * The values being fired.
+     */
+    private A first;
+    private B second;
+    private C third;
+
+    private final WatchersRegistrations<TriConsumer<A, B, C>> registrations = WatchersRegistrations.create();
+
+    @Override
+    public String toString() {
+        return this.registrations.toString();
+    }
+}
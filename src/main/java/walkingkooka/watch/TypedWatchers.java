@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Watchers which are only fired for events that are instances of the type they were added with. The watchers for
+ * each concrete event class are resolved once by walking its super classes and then cached, the cache is only cleared
+ * when a watcher is added or removed.
+ * <br>
+ * Only classes may be used as types, as GWT and J2CL do not support {@link Class#getInterfaces()} or
+ * {@link Class#isAssignableFrom(Class)}.
+ */
+public final class TypedWatchers<T> implements Consumer<T> {
+
+    /**
+     * Creates an empty {@link TypedWatchers}
+     */
+    public static <T> TypedWatchers<T> create() {
+        return new TypedWatchers<>();
+    }
+
+    private TypedWatchers() {
+        super();
+    }
+
+    /**
+     * Adds a watcher that is fired with events that are an instance of the given type, returning a {@link Runnable}
+     * which removes the watcher.
+     */
+    public <S extends T> Runnable add(final Class<S> type,
+                                      final Consumer<? super S> watcher) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(watcher, "watcher");
+
+        if (type.isInterface()) {
+            throw new IllegalArgumentException("Interface types are not supported " + type.getName());
+        }
+
+        final TypedWatchersRegistration<T> registration = TypedWatchersRegistration.with(
+            type,
+            Cast.to(watcher),
+            this
+        );
+        this.registrations.add(registration);
+        this.classToRegistrations.clear();
+
+        return registration;
+    }
+
+    /**
+     * Removes the given registration and clears the cache.
+     */
+    void remove(final TypedWatchersRegistration<T> registration) {
+        final List<TypedWatchersRegistration<T>> registrations = this.registrations;
+        final int count = registrations.size();
+
+        for (int i = 0; i < count; i++) {
+            if (registration == registrations.get(i)) {
+                registrations.remove(i);
+                break;
+            }
+        }
+
+        this.classToRegistrations.clear();
+    }
+
+    /**
+     * Fires the event to all watchers added with its class or one of its super classes.
+     */
+    @Override
+    public void accept(final T source) {
+        Objects.requireNonNull(source, "source");
+
+        final Class<?> type = source.getClass();
+
+        final Map<Class<?>, TypedWatchersRegistration<T>[]> classToRegistrations = this.classToRegistrations;
+        TypedWatchersRegistration<T>[] registrations = classToRegistrations.get(type);
+        if (null == registrations) {
+            registrations = this.resolve(type);
+            classToRegistrations.put(
+                type,
+                registrations
+            );
+        }
+
+        for (final TypedWatchersRegistration<T> registration : registrations) {
+            if (registration.active) {
+                registration.watcher.accept(source);
+            }
+        }
+    }
+
+    /**
+     * Finds all registrations for the given class or any of its super classes, in the order they were added.
+     */
+    private TypedWatchersRegistration<T>[] resolve(final Class<?> type) {
+        final List<TypedWatchersRegistration<T>> matched = Lists.array();
+
+        for (final TypedWatchersRegistration<T> registration : this.registrations) {
+            final Class<?> registered = registration.type;
+
+            for (Class<?> possible = type; null != possible; possible = possible.getSuperclass()) {
+                if (registered == possible) {
+                    matched.add(registration);
+                    break;
+                }
+            }
+        }
+
+        final TypedWatchersRegistration<T>[] array = Cast.to(
+            new TypedWatchersRegistration[matched.size()]
+        );
+        return matched.toArray(array);
+    }
+
+    /**
+     * All registrations in the order they were added.
+     */
+    private final List<TypedWatchersRegistration<T>> registrations = Lists.array();
+
+    /**
+     * A cache of event class to the registrations that should be fired.
+     */
+    private final Map<Class<?>, TypedWatchersRegistration<T>[]> classToRegistrations = Maps.hash();
+
+    @Override
+    public String toString() {
+        return this.registrations.toString();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * A registration within a {@link TypedWatchers}, and also the {@link Runnable} handle that removes it.
+ */
+final class TypedWatchersRegistration<T> implements Runnable {
+
+    static <T> TypedWatchersRegistration<T> with(final Class<?> type,
+                                                 final Consumer<T> watcher,
+                                                 final TypedWatchers<T> watchers) {
+        return new TypedWatchersRegistration<>(
+            type,
+            watcher,
+            watchers
+        );
+    }
+
+    private TypedWatchersRegistration(final Class<?> type,
+                                      final Consumer<T> watcher,
+                                      final TypedWatchers<T> watchers) {
+        super();
+        this.type = type;
+        this.watcher = watcher;
+        this.watchers = watchers;
+    }
+
+    // Runnable.........................................................................................................
+
+    @Override
+    public void run() {
+        if (this.active) {
+            this.active = false;
+            this.watchers.remove(this);
+        }
+    }
+
+    final Class<?> type;
+    final Consumer<T> watcher;
+    private final TypedWatchers<T> watchers;
+
+    boolean active = true;
+
+    @Override
+    public String toString() {
+        return this.type.getName() + " " + this.watcher;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Factory methods for {@link Watchers} that invoke watchers on virtual threads, so watchers that block, such as those
+ * performing I/O, run concurrently rather than one after another. Virtual threads are used when the running JVM
+ * supports them, otherwise a pool of daemon threads is used. The concurrency limits how many threads a single
+ * {@link Watchers} uses at the same time, further invocations are queued until one of those threads is free.
+ * <br>
+ * This class is not available in GWT or J2CL.
+ */
+public final class VirtualThreadWatchers {
+
+    /**
+     * Creates a {@link Watchers} whose {@link Watchers#accept(Object)} starts all watchers and returns immediately,
+     * with any failure given to the error handler.
+     */
+    public static <T> Watchers<T> fanOut(final int concurrency,
+                                         final Consumer<RuntimeException> errorHandler) {
+        return Watchers.with(
+            WatchersDispatcherVirtualThread.fanOut(
+                concurrency,
+                errorHandler
+            )
+        );
+    }
+
+    /**
+     * Creates a {@link Watchers} whose {@link Watchers#accept(Object)} starts all watchers and waits for them all to
+     * complete. The first failure is then thrown with any others added as suppressed, as done by
+     * {@link Watchers#runnableCollection(java.util.List)}.
+     */
+    public static <T> Watchers<T> fanOutAndWait(final int concurrency) {
+        return Watchers.with(
+            WatchersDispatcherVirtualThread.fanOutAndWait(concurrency)
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private VirtualThreadWatchers() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -17,11 +17,19 @@
 
 package walkingkooka.watch;
 
+import walkingkooka.Cast;
 import walkingkooka.collect.list.Lists;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Abstraction that supports collecting and dispatching events. If a watcher is added multiple times it will be fired each time.
@@ -39,92 +47,771 @@ public final class Watchers<T> implements Consumer<T> {
      * Creates an empty {@link Watchers}
      */
     public static <T> Watchers<T> create() {
-        return new Watchers<>();
+        return new Watchers<>(WatchersDispatcherSync.INSTANCE);
     }
 
-    private Watchers() {
+    /**
+     * Creates an empty {@link Watchers} where {@link #accept(Object)} returns immediately, leaving a task given to the
+     * {@link Executor} to fire the event. Events are delivered one at a time in the order they were fired, with each
+     * event delivered to all watchers before the next. Any failure is given to the error handler.
+     */
+    public static <T> Watchers<T> async(final Executor executor,
+                                        final Consumer<RuntimeException> errorHandler) {
+        return new Watchers<>(
+            WatchersDispatcherAsyncEvent.with(
+                executor,
+                errorHandler
+            )
+        );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} where {@link #accept(Object)} returns immediately, with each watcher having its
+     * own queue of events drained by tasks given to the {@link Executor}. A slow watcher does not delay others, but each
+     * watcher still receives events in the order they were fired. Any failure is given to the error handler.
+     */
+    public static <T> Watchers<T> asyncPerWatcher(final Executor executor,
+                                                  final Consumer<RuntimeException> errorHandler) {
+        return new Watchers<>(
+            WatchersDispatcherAsyncWatcher.with(
+                executor,
+                errorHandler
+            )
+        );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} which records each fire and each watcher invocation to the given
+     * {@link WatchersMetricsSink}, timed by the given clock. When the sink is {@link WatchersMetricsSink#none()} a
+     * {@link Watchers} without any recording is returned.
+     */
+    public static <T> Watchers<T> metrics(final WatchersMetricsSink sink,
+                                          final LongSupplier clock) {
+        Objects.requireNonNull(sink, "sink");
+        Objects.requireNonNull(clock, "clock");
+
+        return sink == WatchersMetricsSink.none() ?
+            create() :
+            new Watchers<>(
+                WatchersDispatcherMetrics.with(
+                    sink,
+                    clock
+                )
+            );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} which gives any failure from a fire to the error handler, rather than throwing
+     * it from {@link #accept(Object)}. Every watcher is fired even if some fail, and the error handler receives the
+     * first failure with any others added as suppressed exceptions.
+     */
+    public static <T> Watchers<T> errorHandling(final Consumer<RuntimeException> errorHandler) {
+        return new Watchers<>(
+            WatchersDispatcherErrorHandling.with(errorHandler)
+        );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} which fires on the calling thread, timing each watcher invocation and reporting
+     * any that exceed the budget of the {@link WatchersWatchdog}, and optionally quarantining repeat offenders.
+     */
+    public static <T> Watchers<T> watchdog(final WatchersWatchdog watchdog) {
+        return new Watchers<>(
+            WatchersDispatcherWatchdog.with(watchdog)
+        );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} which queues each event on the given {@link WatchersTrampoline}. Events fired
+     * by watchers during a fire of any {@link Watchers} sharing the trampoline are delivered after the current event,
+     * in the order they were fired, rather than recursively.
+     */
+    public static <T> Watchers<T> trampoline(final WatchersTrampoline trampoline) {
+        return new Watchers<>(
+            WatchersDispatcherTrampoline.with(trampoline)
+        );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} which defers events while the {@link WatchersBatch} is open, firing only the
+     * last event when the outermost scope closes.
+     */
+    public static <T> Watchers<T> batched(final WatchersBatch batch) {
+        return batched(
+            batch,
+            (first, second) -> second
+        );
+    }
+
+    /**
+     * Creates an empty {@link Watchers} which defers events while the {@link WatchersBatch} is open, merging each
+     * deferred event with the previous using the {@link BinaryOperator}, and firing the result when the outermost scope
+     * closes.
+     */
+    public static <T> Watchers<T> batched(final WatchersBatch batch,
+                                          final BinaryOperator<T> merger) {
+        return new Watchers<>(
+            WatchersDispatcherBatch.with(
+                batch,
+                merger
+            )
+        );
+    }
+
+    /**
+     * Factory used by JVM only classes that provide their own {@link WatchersDispatcher}.
+     */
+    static <T> Watchers<T> with(final WatchersDispatcher dispatcher) {
+        return new Watchers<>(dispatcher);
+    }
+
+    private Watchers(final WatchersDispatcher dispatcher) {
         super();
+        this.dispatcher = dispatcher;
     }
 
     /**
      * Adds a new watcher which may be removed by calling the returned {@link Runnable}.
      */
     public Runnable add(final Consumer<T> watcher) {
+        return this.add(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * Adds a new watcher with the given priority. Watchers with a higher priority are fired first, and watchers with
+     * the same priority are fired in the order they were added.
+     */
+    public Runnable add(final int priority,
+                        final Consumer<T> watcher) {
         Objects.requireNonNull(watcher, "watcher");
 
-        return this.add0(watcher);
+        final Consumer<T> decorated = this.dispatcher.watcher(watcher);
+
+        final Runnable remover;
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                remover = this.addPersistent(
+                    priority,
+                    decorated
+                );
+            }
+        } else {
+            remover = this.addPersistent(
+                priority,
+                decorated
+            );
+        }
+
+        return this.remover(remover);
     }
 
     /**
-     * Adds a new watcher which will be removed after a single fire.
+     * When watchers may run on other threads, wraps the remover so it holds the lock of this {@link Watchers}.
      */
-    public Runnable addOnce(final Consumer<T> watcher) {
+    private Runnable remover(final Runnable remover) {
+        return this.dispatcher.isConcurrent() ?
+            WatchersSynchronizedRunnable.with(
+                remover,
+                this
+            ) :
+            remover;
+    }
+
+    /**
+     * Adds a persistent watcher which has already been decorated by the {@link WatchersDispatcher}. The first watcher
+     * added to an empty {@link Watchers} is held by a {@link WatchersSingleRemovingRunnable}.
+     */
+    private Runnable addPersistent(final int priority,
+                                   final Consumer<T> watcher) {
+        final Runnable remover;
+
+        if (null == this.registrations) {
+            final WatchersSingleRemovingRunnable<T> single = WatchersSingleRemovingRunnable.with(
+                watcher,
+                priority,
+                this
+            );
+            this.registrations = single;
+            remover = single;
+        } else {
+            remover = this.watched(
+                this.registrations()
+                    .add(
+                        priority,
+                        watcher
+                    )
+            );
+        }
+
+        return remover;
+    }
+
+    /**
+     * Sets the {@link Watchers} of a new registration, so it is told when the registration is removed.
+     */
+    private WatchersWatcherRemovingRunnable<Consumer<T>> watched(final WatchersWatcherRemovingRunnable<Consumer<T>> registration) {
+        registration.watchers = this;
+        return registration;
+    }
+
+    /**
+     * Returns true if the given watcher is the single watcher of this {@link Watchers}.
+     */
+    boolean isSingle(final WatchersSingleRemovingRunnable<T> single) {
+        return single == this.registrations;
+    }
+
+    /**
+     * Returns true if the watcher held by the given {@link WatchersSingleRemovingRunnable} has not been removed, holding
+     * the lock when the watcher may have been removed by another thread.
+     */
+    private boolean isActive(final WatchersSingleRemovingRunnable<T> single) {
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                return single.isActive();
+            }
+        }
+        return single.isActive();
+    }
+
+    /**
+     * Removes the single watcher, if it is still the single watcher.
+     */
+    void removed(final WatchersSingleRemovingRunnable<T> single) {
+        if (this.isSingle(single)) {
+            this.registrations = null;
+            WatchersRegistrations.removed(single.watcher);
+        }
+    }
+
+    /**
+     * Adds a new watcher which is only fired when the {@link Predicate} matches the event. Watchers added with the same
+     * {@link Predicate} instance are grouped, so the predicate is tested once per fire, and the whole group is skipped
+     * when it does not match. The group is fired in the position of the first watcher added with the predicate.
+     */
+    public Runnable add(final Predicate<T> predicate,
+                        final Consumer<T> watcher) {
+        Objects.requireNonNull(predicate, "predicate");
         Objects.requireNonNull(watcher, "watcher");
 
-        return this.add0(
-            WatchersOnceConsumer.with(watcher)
+        final Runnable remover;
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                remover = this.addPredicate(
+                    predicate,
+                    watcher
+                );
+            }
+        } else {
+            remover = this.addPredicate(
+                predicate,
+                watcher
+            );
+        }
+
+        return this.remover(remover);
+    }
+
+    private Runnable addPredicate(final Predicate<T> predicate,
+                                  final Consumer<T> watcher) {
+        WatchersPredicateGroups<T> groups = this.groups;
+        if (null == groups) {
+            groups = WatchersPredicateGroups.create();
+            this.groups = groups;
+        }
+        final Map<Predicate<T>, WatchersPredicateConsumer<T>> predicateToGroup = groups.predicateToGroup;
+
+        WatchersPredicateConsumer<T> group = predicateToGroup.get(predicate);
+        if (null == group) {
+            group = WatchersPredicateConsumer.with(
+                predicate,
+                Watchers.with(this.dispatcher)
+            );
+            group.registration = this.addPersistent(
+                WatchersRegistrations.DEFAULT_PRIORITY,
+                group
+            );
+
+            predicateToGroup.put(
+                predicate,
+                group
+            );
+        }
+
+        final Runnable remover = group.watchers.add(watcher);
+        groups.count++;
+
+        return WatchersPredicateRemovingRunnable.with(
+            remover,
+            group,
+            this
         );
     }
 
-    private Runnable add0(final Consumer<T> watcher) {
-        final List<Consumer<T>> watchers = this.watchers;
+    /**
+     * Called after a watcher is removed from a group, removing the group if it has no more watchers.
+     */
+    void removed(final WatchersPredicateConsumer<T> group) {
+        final WatchersPredicateGroups<T> groups = this.groups;
+        groups.count--;
+
+        if (group.watchers.isEmpty()) {
+            group.registration.run();
+
+            final Map<Predicate<T>, WatchersPredicateConsumer<T>> predicateToGroup = groups.predicateToGroup;
+            if (group == predicateToGroup.get(group.predicate)) {
+                predicateToGroup.remove(group.predicate);
+            }
+        }
+    }
+
+    /**
+     * Adds all the given watchers, with a single update of the snapshot. The returned {@link Runnable} removes all
+     * the watchers added by this call.
+     */
+    public Runnable addAll(final Collection<Consumer<T>> watchers) {
+        Objects.requireNonNull(watchers, "watchers");
+
+        if (watchers.isEmpty()) {
+            throw new IllegalArgumentException("Empty watchers");
+        }
+        for (final Consumer<T> watcher : watchers) {
+            Objects.requireNonNull(watcher, "watcher");
+        }
+
+        final List<Consumer<T>> decorated = Lists.array();
+        for (final Consumer<T> watcher : watchers) {
+            decorated.add(
+                this.dispatcher.watcher(watcher)
+            );
+        }
+
+        final Runnable remover;
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                remover = this.addAll(decorated);
+            }
+        } else {
+            remover = this.addAll(decorated);
+        }
+
+        return this.remover(remover);
+    }
+
+    private Runnable addAll(final List<Consumer<T>> watchers) {
+        final WatchersRegistrations<Consumer<T>> registrations = this.registrations();
+        final List<Runnable> removers = Lists.array();
+        for (final Consumer<T> watcher : watchers) {
+            removers.add(
+                this.watched(
+                    registrations.add(
+                        WatchersRegistrations.DEFAULT_PRIORITY,
+                        watcher
+                    )
+                )
+            );
+        }
 
-        watchers.add(watcher);
-        return WatchersWatcherRemovingRunnable.with(
-            watcher,
-            watchers
+        return RunnableCollection.with(removers);
+    }
+
+    /**
+     * Adds a new watcher which will be removed after a single fire. One time watchers are kept in their own list, which
+     * a fire takes in a single swap, so persistent watchers never pay for their bookkeeping.
+     */
+    public Runnable addOnce(final Consumer<T> watcher) {
+        return this.addOnce(
+            WatchersRegistrations.DEFAULT_PRIORITY,
+            watcher
+        );
+    }
+
+    /**
+     * Adds a new watcher with the given priority which will be removed after a single fire, using the same ordering as
+     * {@link #add(int, Consumer)}.
+     */
+    public Runnable addOnce(final int priority,
+                            final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        final Consumer<T> decorated = this.dispatcher.watcher(watcher);
+
+        final Runnable remover;
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                remover = this.addOnce0(
+                    priority,
+                    decorated
+                );
+            }
+        } else {
+            remover = this.addOnce0(
+                priority,
+                decorated
+            );
+        }
+
+        return this.remover(remover);
+    }
+
+    private Runnable addOnce0(final int priority,
+                              final Consumer<T> watcher) {
+        return this.watched(
+            this.registrations()
+                .addOnce(
+                    priority,
+                    watcher
+                )
         );
     }
 
+    /**
+     * Returns true if there are no persistent or one time watchers, allowing a producer to skip creating an event.
+     */
+    public boolean isEmpty() {
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                return this.isEmpty0();
+            }
+        }
+        return this.isEmpty0();
+    }
+
+    private boolean isEmpty0() {
+        final Object registrations = this.registrations;
+        return null == registrations ||
+            (registrations instanceof WatchersRegistrations && ((WatchersRegistrations<?>) registrations).isEmpty());
+    }
+
+    /**
+     * Returns the number of persistent and one time watchers, including each watcher added with a {@link Predicate}.
+     */
+    public int count() {
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                return this.persistentCount() + this.onceCount();
+            }
+        }
+        return this.persistentCount() + this.onceCount();
+    }
+
+    /**
+     * Returns the number of persistent watchers. Each group of watchers added with the same {@link Predicate} has a
+     * single registration, which is replaced by the number of watchers in all groups.
+     */
+    int persistentCount() {
+        final Object registrations = this.registrations;
+        final int count = null == registrations ?
+            0 :
+            registrations instanceof WatchersRegistrations ?
+                ((WatchersRegistrations<?>) registrations).count :
+                1;
+        final WatchersPredicateGroups<T> groups = this.groups;
+
+        return null == groups ?
+            count :
+            count - groups.predicateToGroup.size() + groups.count;
+    }
+
+    /**
+     * Returns the number of one time watchers waiting for the next fire.
+     */
+    int onceCount() {
+        final Object registrations = this.registrations;
+        return registrations instanceof WatchersRegistrations ?
+            ((WatchersRegistrations<?>) registrations).onceCount :
+            0;
+    }
+
     /**
      * Remove any {@link Consumer} watchers that were added using {@link #addOnce(Consumer)}.
      */
     public void removeOnce() {
-        final List<Consumer<T>> watchers = this.watchers;
-        int i = 0;
+        final WatchersWatcherRemovingRunnable<?> once;
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                once = this.takeOnce();
+            }
+        } else {
+            once = this.takeOnce();
+        }
 
-        for (final Consumer<T> watcher : watchers) {
-            if (watcher instanceof WatchersOnceConsumer) {
-                watchers.remove(i);
-                i--;
+        this.removedOnce(once);
+    }
+
+    /**
+     * Tells each one time watcher taken by a fire or {@link #removeOnce()} that it was removed, only walking the list
+     * when the dispatcher decorated the watchers with a {@link WatchersRemovedWatcher}.
+     */
+    private void removedOnce(final WatchersWatcherRemovingRunnable<?> once) {
+        if (this.dispatcher.isRemovedWatcher()) {
+            WatchersRegistrations.removedOnce(once);
+        }
+    }
+
+    private WatchersWatcherRemovingRunnable<?> takeOnce() {
+        final Object state = this.registrations;
+        return state instanceof WatchersRegistrations ?
+            this.takeOnce(
+                Cast.to(state)
+            ) :
+            null;
+    }
+
+    /**
+     * Takes the one time watchers, returning to a smaller state if only persistent watchers remain.
+     */
+    private WatchersWatcherRemovingRunnable<Consumer<T>> takeOnce(final WatchersRegistrations<Consumer<T>> registrations) {
+        final WatchersWatcherRemovingRunnable<Consumer<T>> once = registrations.takeOnce();
+        if (null != once) {
+            this.shrink(registrations);
+        }
+        return once;
+    }
+
+    /**
+     * Called after a registration added by this {@link Watchers} is removed, with the registrations it was removed from,
+     * which are null if it was detached and standing in for the single watcher.
+     */
+    void removed(final WatchersWatcherRemovingRunnable<?> registration,
+                 final WatchersRegistrations<?> registrations) {
+        final Object state = this.registrations;
+
+        if (null == registrations) {
+            if (state instanceof WatchersSingleRemovingRunnable && registration == ((WatchersSingleRemovingRunnable<?>) state).registration) {
+                this.registrations = null;
+                WatchersRegistrations.removed(registration.watcher);
+            }
+        } else {
+            if (state == registrations) {
+                this.shrink(
+                    Cast.to(registrations)
+                );
             }
-            i++;
         }
     }
 
     /**
-     * Fire an event to all watchers.
+     * Once there are no one time watchers, and none or a single persistent watcher, returns to holding nothing or a
+     * {@link WatchersSingleRemovingRunnable}, so a {@link Watchers} that once had many watchers does not keep its
+     * registrations. The remaining registration is detached, and attached again if another watcher is added.
+     */
+    private void shrink(final WatchersRegistrations<Consumer<T>> registrations) {
+        if (0 == registrations.onceCount) {
+            final WatchersWatcherRemovingRunnable<Consumer<T>> registration = registrations.single();
+
+            if (0 == registrations.count) {
+                this.registrations = null;
+            } else if (null != registration) {
+                registration.registrations = null;
+
+                final WatchersSingleRemovingRunnable<T> single = WatchersSingleRemovingRunnable.with(
+                    registration.watcher,
+                    registration.priority,
+                    this
+                );
+                single.registration = registration;
+                this.registrations = single;
+            }
+        }
+    }
+
+    /**
+     * Fire an event to all watchers. The snapshot of registrations is only rebuilt after an add or remove, a watcher
+     * removed during a fire will not be fired if it has not already been fired. One time watchers are fired in priority
+     * and then added order relative to persistent watchers. A failing watcher does not stop later watchers from being
+     * fired, the first failure is thrown after all watchers have been fired, with any others added as suppressed.
      */
     @Override
     public void accept(final T source) {
         Objects.requireNonNull(source, "source");
 
-        final List<Consumer<T>> watchers = this.watchers;
+        this.dispatcher.dispatch(
+            source,
+            this
+        );
+    }
+
+    /**
+     * Fires the event returned by the {@link Supplier}, which is only called if there is at least one watcher, so an
+     * expensive event is never created when nothing is watching. Note a {@link Watchers} of {@link Object} will select
+     * this method for any {@link Supplier} argument.
+     */
+    public void accept(final Supplier<? extends T> source) {
+        Objects.requireNonNull(source, "source");
+
+        if (false == this.isEmpty()) {
+            this.accept(
+                source.get()
+            );
+        }
+    }
 
-        final List<Consumer<T>> fire = Lists.array();
+    /**
+     * Fires the event to all watchers on the calling thread. A single persistent watcher is fired directly, so a
+     * snapshot array is never created for it. When watchers may run on other threads, the watchers are taken while
+     * holding the lock, and fired after releasing it.
+     */
+    void fire(final T source) {
+        if (this.dispatcher.isConcurrent()) {
+            this.fireLater(source)
+                .run();
+        } else {
+            this.fire0(source);
+        }
+    }
 
-        int i = 0;
+    private void fire0(final T source) {
+        final Object state = this.registrations;
 
-        // make a copy of all watches removing any one time watchers along the way.
-        for (final Consumer<T> watcher : watchers) {
-            fire.add(watcher);
-            if (watcher instanceof WatchersOnceConsumer) {
-                watchers.remove(i);
-                i--;
+        if (state instanceof WatchersSingleRemovingRunnable) {
+            final WatchersSingleRemovingRunnable<T> single = Cast.to(state);
+            single.watcher.accept(source);
+        } else if (null != state) {
+            final WatchersRegistrations<Consumer<T>> registrations = Cast.to(state);
+            final WatchersWatcherRemovingRunnable<Consumer<T>> once = this.takeOnce(registrations);
+            final WatchersWatcherRemovingRunnable<Consumer<T>> single = registrations.single();
+
+            if (null == once && null != single) {
+                single.watcher.accept(source);
+            } else {
+                try {
+                    WatchersRegistrations.fire(
+                        Consumer::accept,
+                        source,
+                        registrations.snapshot(),
+                        once
+                    );
+                } finally {
+                    this.removedOnce(once);
+                }
             }
-            i++;
         }
+    }
 
-        // fire
-        for (final Consumer<T> watcher : fire) {
-            watcher.accept(source);
+    /**
+     * Takes the watchers that would be fired now, returning a {@link Runnable} that fires them later, possibly on
+     * another thread.
+     */
+    Runnable fireLater(final T source) {
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                return this.fireLater0(source);
+            }
         }
+        return this.fireLater0(source);
     }
 
-    private final List<Consumer<T>> watchers = Lists.copyOnWrite();
+    private Runnable fireLater0(final T source) {
+        final Object state = this.registrations;
+        final Runnable later;
+
+        if (null == state) {
+            later = () -> {
+            };
+        } else if (state instanceof WatchersSingleRemovingRunnable) {
+            final WatchersSingleRemovingRunnable<T> single = Cast.to(state);
+
+            later = () -> {
+                // a watcher removed before the event is delivered is not fired
+                if (this.isActive(single)) {
+                    single.watcher.accept(source);
+                }
+            };
+        } else {
+            final WatchersRegistrations<Consumer<T>> registrations = Cast.to(state);
+
+            final WatchersWatcherRemovingRunnable<Consumer<T>>[] persistent = registrations.snapshot();
+            final WatchersWatcherRemovingRunnable<Consumer<T>> once = this.takeOnce(registrations);
+
+            later = () -> {
+                try {
+                    WatchersRegistrations.fire(
+                        Consumer::accept,
+                        source,
+                        persistent,
+                        once
+                    );
+                } finally {
+                    this.removedOnce(once);
+                }
+            };
+        }
+
+        return later;
+    }
+
+    /**
+     * Controls how events are delivered, and may decorate each watcher as it is added.
+     */
+    private final WatchersDispatcher dispatcher;
+
+    /**
+     * Returns the registrations, creating them if there are none, or moving a single watcher into them.
+     */
+    private WatchersRegistrations<Consumer<T>> registrations() {
+        final Object state = this.registrations;
+        final WatchersRegistrations<Consumer<T>> registrations;
+
+        if (state instanceof WatchersRegistrations) {
+            registrations = Cast.to(state);
+        } else {
+            registrations = WatchersRegistrations.create();
+
+            if (null != state) {
+                final WatchersSingleRemovingRunnable<T> single = Cast.to(state);
+                final WatchersWatcherRemovingRunnable<Consumer<T>> registration = single.registration;
+
+                if (null == registration) {
+                    single.registration = this.watched(
+                        registrations.add(
+                            single.priority,
+                            single.watcher
+                        )
+                    );
+                } else {
+                    // the single watcher was standing in for a detached registration
+                    registrations.attach(registration);
+                }
+            }
+            this.registrations = registrations;
+        }
+
+        return registrations;
+    }
+
+    /**
+     * Null when there are no watchers, a {@link WatchersSingleRemovingRunnable} holding the only persistent watcher, or
+     * the {@link WatchersRegistrations} created when a second or any one time watcher is added. A {@link Watchers} that
+     * is never watched holds only its dispatcher, and one with a single watcher holds one small object. Removing
+     * watchers or firing the one time watchers returns to the smaller states.
+     */
+    private Object registrations;
+
+    /**
+     * Lazily created groups of watchers added with a {@link Predicate}.
+     */
+    private WatchersPredicateGroups<T> groups;
 
     @Override
     public String toString() {
-        return this.watchers.toString();
+        if (this.dispatcher.isConcurrent()) {
+            synchronized (this) {
+                return this.toString0();
+            }
+        }
+        return this.toString0();
+    }
+
+    private String toString0() {
+        final Object registrations = this.registrations;
+        return null == registrations ?
+            "[]" :
+            registrations instanceof WatchersSingleRemovingRunnable ?
+                "[" + ((WatchersSingleRemovingRunnable<?>) registrations).watcher + "]" :
+                registrations.toString();
     }
 }
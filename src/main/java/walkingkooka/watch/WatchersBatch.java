@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A scope shared by any number of {@link Watchers} created with {@link Watchers#batched(WatchersBatch)}. While the
+ * scope is open, each {@link Watchers#accept(Object)} is deferred, and when the outermost scope closes each
+ * {@link Watchers} fires once with its last or merged event, in the order they first received an event. Scopes may be
+ * opened using try with resources or {@link #run(Runnable)}, and may be nested. A batch is not thread safe.
+ * <pre>
+ * try (final WatchersBatch scope = batch.open()) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class WatchersBatch implements AutoCloseable {
+
+    /**
+     * Creates a new closed {@link WatchersBatch}.
+     */
+    public static WatchersBatch create() {
+        return new WatchersBatch();
+    }
+
+    private WatchersBatch() {
+        super();
+    }
+
+    /**
+     * Opens a scope which must be closed by {@link #close()}.
+     */
+    public WatchersBatch open() {
+        this.depth++;
+        return this;
+    }
+
+    /**
+     * Runs the task within a scope.
+     */
+    public void run(final Runnable task) {
+        Objects.requireNonNull(task, "task");
+
+        this.open();
+        try {
+            task.run();
+        } finally {
+            this.close();
+        }
+    }
+
+    /**
+     * Closes a scope, and if it is the outermost delivers all deferred events. Every deferred event is delivered even
+     * if some fail, with the first failure thrown afterwards and any others added as suppressed.
+     */
+    @Override
+    public void close() {
+        final int depth = this.depth;
+        if (0 == depth) {
+            throw new IllegalStateException("Batch not open");
+        }
+
+        this.depth = depth - 1;
+        if (1 == depth) {
+            this.flush();
+        }
+    }
+
+    private void flush() {
+        final List<WatchersDispatcherBatch> pending = this.pending;
+        if (false == pending.isEmpty()) {
+            final List<WatchersDispatcherBatch> flush = Lists.array();
+            flush.addAll(pending);
+            pending.clear();
+
+            RuntimeException thrown = null;
+            for (final WatchersDispatcherBatch dispatcher : flush) {
+                try {
+                    dispatcher.flush();
+                } catch (final RuntimeException cause) {
+                    thrown = WatchersRegistrations.failed(thrown, cause);
+                }
+            }
+
+            if (null != thrown) {
+                throw thrown;
+            }
+        }
+    }
+
+    /**
+     * Returns true if at least one scope is open.
+     */
+    public boolean isOpen() {
+        return this.depth > 0;
+    }
+
+    /**
+     * Records a dispatcher holding its first deferred event, so it is flushed when the outermost scope closes.
+     */
+    void defer(final WatchersDispatcherBatch dispatcher) {
+        this.pending.add(dispatcher);
+    }
+
+    /**
+     * The number of open scopes.
+     */
+    private int depth;
+
+    private final List<WatchersDispatcherBatch> pending = Lists.array();
+
+    @Override
+    public String toString() {
+        return this.isOpen() ?
+            "open " + this.pending.size() + " pending" :
+            "closed";
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Suspends a watcher after a number of consecutive failures, so a broken watcher is skipped rather than throwing on
+ * every fire. Watchers are wrapped by {@link #watcher(Consumer)} before they are added to any {@link Watchers}, and a
+ * single {@link #reset()} resumes every suspended watcher. Like {@link Watchers} it is not thread safe.
+ */
+public final class WatchersCircuitBreaker {
+
+    /**
+     * Creates a {@link WatchersCircuitBreaker} which suspends a watcher after the given number of consecutive failures.
+     */
+    public static WatchersCircuitBreaker with(final int failureThreshold) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Invalid failureThreshold " + failureThreshold + " <= 0");
+        }
+
+        return new WatchersCircuitBreaker(failureThreshold);
+    }
+
+    private WatchersCircuitBreaker(final int failureThreshold) {
+        super();
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Wraps the watcher so it is suspended once it fails {@link #failureThreshold} times in a row. A suspended watcher
+     * ignores events until {@link #reset()} is called.
+     */
+    public <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        return WatchersCircuitBreakerConsumer.with(
+            watcher,
+            this
+        );
+    }
+
+    /**
+     * Resumes all suspended watchers, clearing their failure counts. Each watcher notices the reset the next time it
+     * receives an event, so the cost does not depend on the number of watchers.
+     */
+    public void reset() {
+        this.generation++;
+    }
+
+    final int failureThreshold;
+
+    /**
+     * Incremented by each {@link #reset()}, watchers with an older generation clear their failure count.
+     */
+    int generation;
+
+    @Override
+    public String toString() {
+        return "failureThreshold=" + this.failureThreshold;
+    }
+}
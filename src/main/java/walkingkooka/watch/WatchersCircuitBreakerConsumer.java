@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Wraps a watcher, counting consecutive failures and skipping events once it is suspended by its
+ * {@link WatchersCircuitBreaker}.
+ */
+final class WatchersCircuitBreakerConsumer<T> implements Consumer<T> {
+
+    static <T> WatchersCircuitBreakerConsumer<T> with(final Consumer<T> watcher,
+                                                      final WatchersCircuitBreaker breaker) {
+        return new WatchersCircuitBreakerConsumer<>(
+            watcher,
+            breaker
+        );
+    }
+
+    private WatchersCircuitBreakerConsumer(final Consumer<T> watcher,
+                                           final WatchersCircuitBreaker breaker) {
+        super();
+        this.watcher = watcher;
+        this.breaker = breaker;
+        this.generation = breaker.generation;
+    }
+
+    @Override
+    public void accept(final T event) {
+        if (false == this.isSuspended()) {
+            try {
+                this.watcher.accept(event);
+                this.failures = 0;
+            } catch (final RuntimeException cause) {
+                this.failures++;
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the watcher has failed too many times since the last reset.
+     */
+    boolean isSuspended() {
+        final WatchersCircuitBreaker breaker = this.breaker;
+        final int generation = breaker.generation;
+
+        if (this.generation != generation) {
+            this.generation = generation;
+            this.failures = 0;
+        }
+
+        return this.failures >= breaker.failureThreshold;
+    }
+
+    private final Consumer<T> watcher;
+
+    private final WatchersCircuitBreaker breaker;
+
+    /**
+     * The number of consecutive failures since the last success or reset.
+     */
+    private int failures;
+
+    /**
+     * The {@link WatchersCircuitBreaker#generation} when {@link #failures} was last cleared.
+     */
+    private int generation;
+
+    @Override
+    public String toString() {
+        return this.watcher.toString();
+    }
+}
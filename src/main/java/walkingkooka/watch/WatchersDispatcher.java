@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Controls how a {@link Watchers} delivers each event to its watchers. A dispatcher may decorate each watcher as it is
+ * added, and controls how and when an entire fire happens.
+ */
+abstract class WatchersDispatcher {
+
+    /**
+     * Package private to limit sub classing.
+     */
+    WatchersDispatcher() {
+        super();
+    }
+
+    /**
+     * Returns the watcher that will actually be registered, which should use the {@link Object#toString()} of the given
+     * watcher.
+     */
+    abstract <T> Consumer<T> watcher(final Consumer<T> watcher);
+
+    /**
+     * Delivers a single event to the given {@link Watchers}, typically using {@link Watchers#fire(Object)} or
+     * {@link Watchers#fireLater(Object)}.
+     */
+    abstract <T> void dispatch(final T event,
+                               final Watchers<T> watchers);
+
+    /**
+     * Returns true if watchers may run on threads other than the one firing, where they may remove themselves while
+     * the {@link Watchers} is being fired or changed, so every access to its registrations must hold its lock.
+     */
+    boolean isConcurrent() {
+        return false;
+    }
+
+    /**
+     * Returns true if the watchers returned by {@link #watcher(Consumer)} are {@link WatchersRemovedWatcher}, so one time
+     * watchers taken by a fire or {@link Watchers#removeOnce()} must be told they were removed. Otherwise the taken list
+     * is dropped without being walked.
+     */
+    boolean isRemovedWatcher() {
+        return false;
+    }
+}
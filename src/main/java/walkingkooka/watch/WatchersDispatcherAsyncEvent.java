@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that takes the watchers for each fire on the calling thread, and then fires them using a
+ * {@link WatchersSerialExecutor}, so events are delivered one at a time in order.
+ */
+final class WatchersDispatcherAsyncEvent extends WatchersDispatcher {
+
+    static WatchersDispatcherAsyncEvent with(final Executor executor,
+                                             final Consumer<RuntimeException> errorHandler) {
+        return new WatchersDispatcherAsyncEvent(
+            WatchersSerialExecutor.with(
+                executor,
+                errorHandler
+            )
+        );
+    }
+
+    private WatchersDispatcherAsyncEvent(final WatchersSerialExecutor executor) {
+        super();
+        this.executor = executor;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return watcher;
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        this.executor.execute(
+            watchers.fireLater(event)
+        );
+    }
+
+    @Override
+    boolean isConcurrent() {
+        return true;
+    }
+
+    private final WatchersSerialExecutor executor;
+
+    @Override
+    public String toString() {
+        return this.executor.toString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that gives each watcher its own {@link WatchersSerialExecutor}, so watchers receive
+ * events in order without waiting for other watchers.
+ */
+final class WatchersDispatcherAsyncWatcher extends WatchersDispatcher {
+
+    static WatchersDispatcherAsyncWatcher with(final Executor executor,
+                                               final Consumer<RuntimeException> errorHandler) {
+        return new WatchersDispatcherAsyncWatcher(
+            Objects.requireNonNull(executor, "executor"),
+            Objects.requireNonNull(errorHandler, "errorHandler")
+        );
+    }
+
+    private WatchersDispatcherAsyncWatcher(final Executor executor,
+                                           final Consumer<RuntimeException> errorHandler) {
+        super();
+        this.executor = executor;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return WatchersDispatcherAsyncWatcherConsumer.with(
+            watcher,
+            WatchersSerialExecutor.with(
+                this.executor,
+                this.errorHandler
+            )
+        );
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        watchers.fire(event);
+    }
+
+    @Override
+    boolean isConcurrent() {
+        return true;
+    }
+
+    private final Executor executor;
+
+    private final Consumer<RuntimeException> errorHandler;
+
+    @Override
+    public String toString() {
+        return this.executor.toString();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Wraps a watcher so each event is queued on its own {@link WatchersSerialExecutor}.
+ */
+final class WatchersDispatcherAsyncWatcherConsumer<T> implements Consumer<T> {
+
+    static <T> WatchersDispatcherAsyncWatcherConsumer<T> with(final Consumer<T> watcher,
+                                                              final WatchersSerialExecutor executor) {
+        return new WatchersDispatcherAsyncWatcherConsumer<>(
+            watcher,
+            executor
+        );
+    }
+
+    private WatchersDispatcherAsyncWatcherConsumer(final Consumer<T> watcher,
+                                                   final WatchersSerialExecutor executor) {
+        super();
+        this.watcher = watcher;
+        this.executor = executor;
+    }
+
+    @Override
+    public void accept(final T event) {
+        final Consumer<T> watcher = this.watcher;
+
+        this.executor.execute(
+            () -> watcher.accept(event)
+        );
+    }
+
+    private final Consumer<T> watcher;
+
+    private final WatchersSerialExecutor executor;
+
+    @Override
+    public String toString() {
+        return this.watcher.toString();
+    }
+}
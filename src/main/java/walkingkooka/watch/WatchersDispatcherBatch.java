@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import walkingkooka.Cast;
+
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that fires immediately unless its {@link WatchersBatch} is open, when it keeps a single
+ * pending event, merging each new event with it, until the batch delivers it.
+ */
+final class WatchersDispatcherBatch extends WatchersDispatcher {
+
+    static WatchersDispatcherBatch with(final WatchersBatch batch,
+                                        final BinaryOperator<?> merger) {
+        return new WatchersDispatcherBatch(
+            Objects.requireNonNull(batch, "batch"),
+            Cast.to(
+                Objects.requireNonNull(merger, "merger")
+            )
+        );
+    }
+
+    private WatchersDispatcherBatch(final WatchersBatch batch,
+                                    final BinaryOperator<Object> merger) {
+        super();
+        this.batch = batch;
+        this.merger = merger;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return watcher;
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        if (this.batch.isOpen()) {
+            final Object pending = this.pending;
+            if (null == pending) {
+                this.pending = event;
+                this.watchers = watchers;
+                this.batch.defer(this);
+            } else {
+                this.pending = Objects.requireNonNull(
+                    this.merger.apply(
+                        pending,
+                        event
+                    ),
+                    "merged event"
+                );
+            }
+        } else {
+            watchers.fire(event);
+        }
+    }
+
+    /**
+     * Fires the pending event.
+     */
+    void flush() {
+        final Object pending = this.pending;
+        final Watchers<Object> watchers = Cast.to(this.watchers);
+
+        this.pending = null;
+        this.watchers = null;
+
+        watchers.fire(pending);
+    }
+
+    private final WatchersBatch batch;
+
+    private final BinaryOperator<Object> merger;
+
+    /**
+     * The deferred event, null when nothing is deferred.
+     */
+    private Object pending;
+
+    /**
+     * The {@link Watchers} that will fire {@link #pending}.
+     */
+    private Watchers<?> watchers;
+
+    @Override
+    public String toString() {
+        return this.batch.toString();
+    }
+}
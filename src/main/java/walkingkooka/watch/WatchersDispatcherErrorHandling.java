@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that fires on the calling thread, giving any failure to an error handler rather than
+ * throwing it.
+ */
+final class WatchersDispatcherErrorHandling extends WatchersDispatcher {
+
+    static WatchersDispatcherErrorHandling with(final Consumer<RuntimeException> errorHandler) {
+        return new WatchersDispatcherErrorHandling(
+            Objects.requireNonNull(errorHandler, "errorHandler")
+        );
+    }
+
+    private WatchersDispatcherErrorHandling(final Consumer<RuntimeException> errorHandler) {
+        super();
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return watcher;
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        try {
+            watchers.fire(event);
+        } catch (final RuntimeException cause) {
+            this.errorHandler.accept(cause);
+        }
+    }
+
+    private final Consumer<RuntimeException> errorHandler;
+
+    @Override
+    public String toString() {
+        return this.errorHandler.toString();
+    }
+}
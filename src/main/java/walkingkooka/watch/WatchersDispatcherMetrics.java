@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link WatchersDispatcher} that fires on the calling thread, timing each fire and each watcher invocation and
+ * recording them to a {@link WatchersMetricsSink}.
+ */
+final class WatchersDispatcherMetrics extends WatchersDispatcher {
+
+    static WatchersDispatcherMetrics with(final WatchersMetricsSink sink,
+                                          final LongSupplier clock) {
+        return new WatchersDispatcherMetrics(
+            Objects.requireNonNull(sink, "sink"),
+            Objects.requireNonNull(clock, "clock")
+        );
+    }
+
+    private WatchersDispatcherMetrics(final WatchersMetricsSink sink,
+                                      final LongSupplier clock) {
+        super();
+        this.sink = sink;
+        this.clock = clock;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        this.sink.added(watcher);
+
+        return WatchersDispatcherMetricsConsumer.with(
+            watcher,
+            this.sink,
+            this.clock
+        );
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        final int persistentCount = watchers.persistentCount();
+        final int onceCount = watchers.onceCount();
+
+        final LongSupplier clock = this.clock;
+        final long start = clock.getAsLong();
+        try {
+            watchers.fire(event);
+        } finally {
+            this.sink.dispatched(
+                persistentCount,
+                onceCount,
+                clock.getAsLong() - start
+            );
+        }
+    }
+
+    @Override
+    boolean isRemovedWatcher() {
+        return true;
+    }
+
+    private final WatchersMetricsSink sink;
+
+    private final LongSupplier clock;
+
+    @Override
+    public String toString() {
+        return this.sink.toString();
+    }
+}
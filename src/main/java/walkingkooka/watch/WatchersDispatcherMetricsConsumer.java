@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Wraps a watcher, recording the time taken by each invocation to a {@link WatchersMetricsSink}, and telling the sink
+ * when its registration is removed.
+ */
+final class WatchersDispatcherMetricsConsumer<T> implements Consumer<T>, WatchersRemovedWatcher {
+
+    static <T> WatchersDispatcherMetricsConsumer<T> with(final Consumer<T> watcher,
+                                                         final WatchersMetricsSink sink,
+                                                         final LongSupplier clock) {
+        return new WatchersDispatcherMetricsConsumer<>(
+            watcher,
+            sink,
+            clock
+        );
+    }
+
+    private WatchersDispatcherMetricsConsumer(final Consumer<T> watcher,
+                                              final WatchersMetricsSink sink,
+                                              final LongSupplier clock) {
+        super();
+        this.watcher = watcher;
+        this.sink = sink;
+        this.clock = clock;
+    }
+
+    @Override
+    public void accept(final T event) {
+        final Consumer<T> watcher = this.watcher;
+        final LongSupplier clock = this.clock;
+
+        this.depth++;
+        final long start = clock.getAsLong();
+        try {
+            watcher.accept(event);
+        } finally {
+            final WatchersMetricsSink sink = this.sink;
+            sink.invoked(
+                watcher,
+                clock.getAsLong() - start
+            );
+
+            this.depth--;
+            if (0 == this.depth && this.removedLater) {
+                this.removedLater = false;
+                sink.removed(watcher);
+            }
+        }
+    }
+
+    /**
+     * A watcher that removes itself is only reported as removed after its invocation is recorded, so the sink does not
+     * record it again afterwards.
+     */
+    @Override
+    public void removed() {
+        if (0 == this.depth) {
+            this.sink.removed(this.watcher);
+        } else {
+            this.removedLater = true;
+        }
+    }
+
+    /**
+     * The number of invocations of this watcher in progress, greater than one when fired recursively.
+     */
+    private int depth;
+
+    /**
+     * True if the registration was removed during an invocation.
+     */
+    private boolean removedLater;
+
+    private final Consumer<T> watcher;
+
+    private final WatchersMetricsSink sink;
+
+    private final LongSupplier clock;
+
+    @Override
+    public String toString() {
+        return this.watcher.toString();
+    }
+}
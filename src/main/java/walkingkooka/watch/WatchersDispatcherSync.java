@@ -14,35 +14,37 @@
  * limitations under the License.
  *
  */
-
 package walkingkooka.watch;
 
 import java.util.function.Consumer;
 
 /**
- * Wrapper that adds no behaviour but is detected by {@link Watchers} during a fire and removes the watcher supporting
- * a one-time {@link Consumer}.
+ * The default {@link WatchersDispatcher} which fires all watchers on the calling thread.
  */
-final class WatchersOnceConsumer<T> implements Consumer<T> {
+final class WatchersDispatcherSync extends WatchersDispatcher {
 
-    static <T> WatchersOnceConsumer<T> with(final Consumer<T> watcher) {
-        return new WatchersOnceConsumer<>(watcher);
-    }
+    /**
+     * Singleton
+     */
+    final static WatchersDispatcherSync INSTANCE = new WatchersDispatcherSync();
 
-    private WatchersOnceConsumer(final Consumer<T> watcher) {
-        this.watcher = watcher;
+    private WatchersDispatcherSync() {
+        super();
     }
 
-
     @Override
-    public void accept(final T t) {
-        this.watcher.accept(t);
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return watcher;
     }
 
-    private final Consumer<T> watcher;
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        watchers.fire(event);
+    }
 
     @Override
     public String toString() {
-        return this.watcher.toString();
+        return "sync";
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that queues each event on a {@link WatchersTrampoline} shared with other
+ * {@link Watchers}.
+ */
+final class WatchersDispatcherTrampoline extends WatchersDispatcher {
+
+    static WatchersDispatcherTrampoline with(final WatchersTrampoline trampoline) {
+        return new WatchersDispatcherTrampoline(
+            Objects.requireNonNull(trampoline, "trampoline")
+        );
+    }
+
+    private WatchersDispatcherTrampoline(final WatchersTrampoline trampoline) {
+        super();
+        this.trampoline = trampoline;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return watcher;
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        this.trampoline.fire(
+            watchers,
+            event
+        );
+    }
+
+    private final WatchersTrampoline trampoline;
+
+    @Override
+    public String toString() {
+        return this.trampoline.toString();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import walkingkooka.collect.list.Lists;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that decorates each watcher so every invocation is queued and run on a virtual thread.
+ * At most concurrency workers drain the queue at once, each on its own thread, so the limit bounds the threads created
+ * and not just the invocations running. When waiting, the {@link Future} of each invocation started by a fire is
+ * collected and joined before {@link Watchers#accept(Object)} returns. A worker that waits, because one of its watchers
+ * fired again, runs queued invocations while waiting, so it never waits for an invocation no worker is free to run.
+ */
+final class WatchersDispatcherVirtualThread extends WatchersDispatcher {
+
+    static WatchersDispatcherVirtualThread fanOut(final int concurrency,
+                                                  final Consumer<RuntimeException> errorHandler) {
+        return new WatchersDispatcherVirtualThread(
+            checkConcurrency(concurrency),
+            Objects.requireNonNull(errorHandler, "errorHandler"),
+            false
+        );
+    }
+
+    static WatchersDispatcherVirtualThread fanOutAndWait(final int concurrency) {
+        return new WatchersDispatcherVirtualThread(
+            checkConcurrency(concurrency),
+            null,
+            true
+        );
+    }
+
+    private static int checkConcurrency(final int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Invalid concurrency " + concurrency + " <= 0");
+        }
+        return concurrency;
+    }
+
+    private WatchersDispatcherVirtualThread(final int concurrency,
+                                            final Consumer<RuntimeException> errorHandler,
+                                            final boolean wait) {
+        super();
+        this.concurrency = concurrency;
+        this.errorHandler = errorHandler;
+        this.wait = wait;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return WatchersDispatcherVirtualThreadConsumer.with(
+            watcher,
+            this
+        );
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        if (this.wait) {
+            final List<Future<?>> started = Lists.array();
+            final List<Future<?>> previous = STARTED.get();
+
+            STARTED.set(started);
+            try {
+                watchers.fire(event);
+            } finally {
+                STARTED.set(previous);
+            }
+
+            this.join(started);
+        } else {
+            watchers.fire(event);
+        }
+    }
+
+    @Override
+    boolean isConcurrent() {
+        return true;
+    }
+
+    /**
+     * Called by {@link WatchersDispatcherVirtualThreadConsumer} to run a single watcher invocation.
+     */
+    void start(final Runnable invocation) {
+        final Runnable task;
+
+        final List<Future<?>> started = STARTED.get();
+        if (null != started) {
+            final FutureTask<?> future = new FutureTask<>(
+                invocation,
+                null
+            );
+            started.add(future);
+            task = future;
+        } else {
+            final Consumer<RuntimeException> errorHandler = this.errorHandler;
+
+            task = () -> {
+                try {
+                    invocation.run();
+                } catch (final RuntimeException cause) {
+                    errorHandler.accept(cause);
+                }
+            };
+        }
+
+        final boolean startWorker;
+        synchronized (this.pending) {
+            this.pending.add(task);
+
+            startWorker = this.workers < this.concurrency;
+            if (startWorker) {
+                this.workers++;
+            }
+        }
+
+        if (startWorker) {
+            EXECUTOR.execute(this::work);
+        }
+    }
+
+    /**
+     * Runs queued invocations until none remain. A worker that stops because an invocation threw an {@link Error}
+     * starts a replacement if any invocations are still queued.
+     */
+    private void work() {
+        boolean stopped = false;
+
+        WORKER.set(this);
+        try {
+            for (; ; ) {
+                final Runnable task;
+                synchronized (this.pending) {
+                    task = this.pending.poll();
+                    if (null == task) {
+                        this.workers--;
+                        stopped = true;
+                        break;
+                    }
+                }
+
+                task.run();
+            }
+        } finally {
+            WORKER.remove();
+
+            if (false == stopped) {
+                final boolean restart;
+                synchronized (this.pending) {
+                    restart = false == this.pending.isEmpty();
+                    if (false == restart) {
+                        this.workers--;
+                    }
+                }
+
+                if (restart) {
+                    EXECUTOR.execute(this::work);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for all invocations, reusing {@link RunnableCollection} so the first failure is thrown with others
+     * suppressed.
+     */
+    private void join(final List<Future<?>> started) {
+        if (false == started.isEmpty()) {
+            final List<Runnable> joins = Lists.array();
+
+            for (final Future<?> future : started) {
+                joins.add(
+                    () -> this.join(future)
+                );
+            }
+
+            RunnableCollection.with(joins)
+                .run();
+        }
+    }
+
+    private void join(final Future<?> future) {
+        if (this == WORKER.get()) {
+            this.help(future);
+        }
+
+        try {
+            future.get();
+        } catch (final ExecutionException cause) {
+            final Throwable thrown = cause.getCause();
+            if (thrown instanceof RuntimeException) {
+                throw (RuntimeException) thrown;
+            }
+            if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+            throw new IllegalStateException(thrown);
+        } catch (final InterruptedException cause) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for watcher", cause);
+        }
+    }
+
+    /**
+     * Runs queued invocations on the current worker until the {@link Future} completes or none remain. Any invocation
+     * still running belongs to another worker, which will help in turn if it also waits.
+     */
+    private void help(final Future<?> future) {
+        while (false == future.isDone()) {
+            final Runnable task;
+            synchronized (this.pending) {
+                task = this.pending.poll();
+            }
+            if (null == task) {
+                break;
+            }
+
+            task.run();
+        }
+    }
+
+    private final int concurrency;
+
+    /**
+     * Invocations waiting for a worker, also the lock guarding {@link #workers}.
+     */
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+
+    /**
+     * The number of workers draining {@link #pending}, never more than {@link #concurrency}.
+     */
+    private int workers;
+
+    private final Consumer<RuntimeException> errorHandler;
+
+    private final boolean wait;
+
+    /**
+     * The invocations started by the fire in progress on the current thread, only set when waiting.
+     */
+    private final static ThreadLocal<List<Future<?>>> STARTED = new ThreadLocal<>();
+
+    /**
+     * The dispatcher whose queue is being drained by the current thread, only set while running {@link #work()}.
+     */
+    private final static ThreadLocal<WatchersDispatcherVirtualThread> WORKER = new ThreadLocal<>();
+
+    /**
+     * Virtual threads are only available from Java 21, which is located using reflection so this library still
+     * targets Java 11.
+     */
+    private final static ExecutorService EXECUTOR = executor();
+
+    private static ExecutorService executor() {
+        ExecutorService executor;
+
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (final ReflectiveOperationException unsupported) {
+            executor = Executors.newCachedThreadPool(
+                (r) -> {
+                    final Thread thread = new Thread(r, "watchers");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+
+        return executor;
+    }
+
+    @Override
+    public String toString() {
+        return "virtual threads " + this.concurrency + (this.wait ? " wait" : "");
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Wraps a watcher so each invocation is queued by {@link WatchersDispatcherVirtualThread} to run on one of its threads.
+ */
+final class WatchersDispatcherVirtualThreadConsumer<T> implements Consumer<T> {
+
+    static <T> WatchersDispatcherVirtualThreadConsumer<T> with(final Consumer<T> watcher,
+                                                               final WatchersDispatcherVirtualThread dispatcher) {
+        return new WatchersDispatcherVirtualThreadConsumer<>(
+            watcher,
+            dispatcher
+        );
+    }
+
+    private WatchersDispatcherVirtualThreadConsumer(final Consumer<T> watcher,
+                                                    final WatchersDispatcherVirtualThread dispatcher) {
+        super();
+        this.watcher = watcher;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void accept(final T event) {
+        final Consumer<T> watcher = this.watcher;
+
+        this.dispatcher.start(
+            () -> watcher.accept(event)
+        );
+    }
+
+    private final Consumer<T> watcher;
+
+    private final WatchersDispatcherVirtualThread dispatcher;
+
+    @Override
+    public String toString() {
+        return this.watcher.toString();
+    }
+}
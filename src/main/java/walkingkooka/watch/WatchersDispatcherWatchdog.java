@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersDispatcher} that fires on the calling thread, with each watcher timed by a {@link WatchersWatchdog}.
+ */
+final class WatchersDispatcherWatchdog extends WatchersDispatcher {
+
+    static WatchersDispatcherWatchdog with(final WatchersWatchdog watchdog) {
+        return new WatchersDispatcherWatchdog(
+            Objects.requireNonNull(watchdog, "watchdog")
+        );
+    }
+
+    private WatchersDispatcherWatchdog(final WatchersWatchdog watchdog) {
+        super();
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    <T> Consumer<T> watcher(final Consumer<T> watcher) {
+        return WatchersDispatcherWatchdogConsumer.with(
+            watcher,
+            this.watchdog
+        );
+    }
+
+    @Override
+    <T> void dispatch(final T event,
+                      final Watchers<T> watchers) {
+        watchers.fire(event);
+    }
+
+    @Override
+    boolean isConcurrent() {
+        return true;
+    }
+
+    private final WatchersWatchdog watchdog;
+
+    @Override
+    public String toString() {
+        return this.watchdog.toString();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Wraps a watcher, timing each invocation and reporting those over the budget of the {@link WatchersWatchdog}. Once
+ * quarantined each event is queued on a {@link WatchersSerialExecutor} rather than being delivered immediately.
+ */
+final class WatchersDispatcherWatchdogConsumer<T> implements Consumer<T> {
+
+    static <T> WatchersDispatcherWatchdogConsumer<T> with(final Consumer<T> watcher,
+                                                          final WatchersWatchdog watchdog) {
+        return new WatchersDispatcherWatchdogConsumer<>(
+            watcher,
+            watchdog
+        );
+    }
+
+    private WatchersDispatcherWatchdogConsumer(final Consumer<T> watcher,
+                                               final WatchersWatchdog watchdog) {
+        super();
+        this.watcher = watcher;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    public void accept(final T event) {
+        final Consumer<T> watcher = this.watcher;
+
+        final WatchersSerialExecutor quarantine = this.quarantine;
+        if (null != quarantine) {
+            quarantine.execute(
+                () -> watcher.accept(event)
+            );
+        } else {
+            final WatchersWatchdog watchdog = this.watchdog;
+            final LongSupplier clock = watchdog.clock;
+
+            final long start = clock.getAsLong();
+            try {
+                watcher.accept(event);
+            } finally {
+                final long time = clock.getAsLong() - start;
+                if (time > watchdog.budget) {
+                    this.offence(time);
+                }
+            }
+        }
+    }
+
+    private void offence(final long time) {
+        final WatchersWatchdog watchdog = this.watchdog;
+
+        final int offences = ++this.offences;
+        final boolean quarantined = offences == watchdog.quarantineOffences;
+        if (quarantined) {
+            this.quarantine = WatchersSerialExecutor.with(
+                watchdog.executor,
+                watchdog.errorHandler
+            );
+        }
+
+        watchdog.reporter.report(
+            this.watcher,
+            time,
+            offences,
+            quarantined
+        );
+    }
+
+    private final Consumer<T> watcher;
+
+    private final WatchersWatchdog watchdog;
+
+    /**
+     * The number of invocations that exceeded the budget.
+     */
+    private int offences;
+
+    /**
+     * When present, events are queued here rather than delivered immediately.
+     */
+    private WatchersSerialExecutor quarantine;
+
+    @Override
+    public String toString() {
+        return this.watcher.toString();
+    }
+}
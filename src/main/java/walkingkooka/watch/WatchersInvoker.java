@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+/**
+ * Invokes a single watcher for {@link WatchersRegistrations#fire(WatchersInvoker, Object)}, so every owner shares the
+ * same fire loop. The primitive and multi argument owners pass themselves as the event, holding the values being fired
+ * in fields, so nothing is boxed or allocated.
+ */
+@FunctionalInterface
+interface WatchersInvoker<W, E> {
+
+    /**
+     * Invokes the watcher with the event.
+     */
+    void invoke(final W watcher,
+                final E event);
+}
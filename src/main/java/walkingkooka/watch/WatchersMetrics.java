@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WatchersMetricsSink} that aggregates the measurements of a single {@link Watchers}, counting fires, keeping
+ * the latest watcher counts, the total and maximum time of each fire, and a histogram of invocation times for each
+ * watcher. The measurements of a watcher are dropped when all its registrations are removed, so a removed watcher is
+ * not kept reachable. Like {@link Watchers} it is not thread safe.
+ */
+public final class WatchersMetrics implements WatchersMetricsSink {
+
+    /**
+     * The number of buckets in each histogram. The first bucket counts times of zero or less, and bucket n counts
+     * times from 2^(n-1) up to but excluding 2^n.
+     */
+    public final static int HISTOGRAM_BUCKETS = 64;
+
+    /**
+     * Creates a new {@link WatchersMetrics} with nothing recorded.
+     */
+    public static WatchersMetrics create() {
+        return new WatchersMetrics();
+    }
+
+    private WatchersMetrics() {
+        super();
+    }
+
+    // WatchersMetricsSink..............................................................................................
+
+    @Override
+    public void dispatched(final int persistentCount,
+                           final int onceCount,
+                           final long time) {
+        this.fired++;
+        this.persistentCount = persistentCount;
+        this.onceCount = onceCount;
+        this.totalDispatchTime += time;
+        if (time > this.maxDispatchTime) {
+            this.maxDispatchTime = time;
+        }
+    }
+
+    @Override
+    public void added(final Consumer<?> watcher) {
+        this.metrics(watcher)
+            .registrations++;
+    }
+
+    @Override
+    public void invoked(final Consumer<?> watcher,
+                        final long time) {
+        final WatchersMetricsWatcher metrics = this.metrics(watcher);
+        metrics.record(time);
+
+        final WatchersMetricsWatcher slowest = this.slowest;
+        if (null == slowest || metrics.max > slowest.max) {
+            this.slowest = metrics;
+        }
+    }
+
+    @Override
+    public void removed(final Consumer<?> watcher) {
+        final Map<Consumer<?>, WatchersMetricsWatcher> watcherToMetrics = this.watcherToMetrics;
+
+        final WatchersMetricsWatcher metrics = watcherToMetrics.get(watcher);
+        if (null != metrics) {
+            metrics.registrations--;
+
+            if (metrics.registrations <= 0) {
+                watcherToMetrics.remove(watcher);
+
+                if (metrics == this.slowest) {
+                    this.slowest = this.findSlowest();
+                }
+            }
+        }
+    }
+
+    private WatchersMetricsWatcher metrics(final Consumer<?> watcher) {
+        final Map<Consumer<?>, WatchersMetricsWatcher> watcherToMetrics = this.watcherToMetrics;
+
+        WatchersMetricsWatcher metrics = watcherToMetrics.get(watcher);
+        if (null == metrics) {
+            metrics = WatchersMetricsWatcher.with(watcher);
+            watcherToMetrics.put(watcher, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Finds the remaining watcher with the slowest invocation, after the slowest was removed.
+     */
+    private WatchersMetricsWatcher findSlowest() {
+        WatchersMetricsWatcher slowest = null;
+
+        for (final WatchersMetricsWatcher metrics : this.watcherToMetrics.values()) {
+            if (metrics.count > 0 && (null == slowest || metrics.max > slowest.max)) {
+                slowest = metrics;
+            }
+        }
+
+        return slowest;
+    }
+
+    /**
+     * Returns the bucket in a histogram for the given time.
+     */
+    static int bucket(final long time) {
+        return time <= 0 ?
+            0 :
+            64 - Long.numberOfLeadingZeros(time);
+    }
+
+    // metrics..........................................................................................................
+
+    /**
+     * The number of events fired.
+     */
+    public long fired() {
+        return this.fired;
+    }
+
+    private long fired;
+
+    /**
+     * The number of persistent watchers present at the start of the latest fire.
+     */
+    public int persistentCount() {
+        return this.persistentCount;
+    }
+
+    private int persistentCount;
+
+    /**
+     * The number of one time watchers present at the start of the latest fire.
+     */
+    public int onceCount() {
+        return this.onceCount;
+    }
+
+    private int onceCount;
+
+    /**
+     * The total time taken by all fires.
+     */
+    public long totalDispatchTime() {
+        return this.totalDispatchTime;
+    }
+
+    private long totalDispatchTime;
+
+    /**
+     * The time taken by the slowest fire.
+     */
+    public long maxDispatchTime() {
+        return this.maxDispatchTime;
+    }
+
+    private long maxDispatchTime;
+
+    /**
+     * Returns a copy of the invocation time histogram for the given watcher, with {@link #HISTOGRAM_BUCKETS} buckets.
+     * A watcher that was never invoked has all buckets zero.
+     */
+    public long[] histogram(final Consumer<?> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        final WatchersMetricsWatcher metrics = this.watcherToMetrics.get(watcher);
+        return null == metrics ?
+            new long[HISTOGRAM_BUCKETS] :
+            metrics.histogram.clone();
+    }
+
+    /**
+     * Returns the watcher with the slowest single invocation, if any watcher has been invoked.
+     */
+    public Optional<Consumer<?>> slowest() {
+        final WatchersMetricsWatcher slowest = this.slowest;
+        return Optional.ofNullable(
+            null == slowest ?
+                null :
+                slowest.watcher
+        );
+    }
+
+    private WatchersMetricsWatcher slowest;
+
+    private final Map<Consumer<?>, WatchersMetricsWatcher> watcherToMetrics = new IdentityHashMap<>();
+
+    @Override
+    public String toString() {
+        final WatchersMetricsWatcher slowest = this.slowest;
+
+        return "fired=" + this.fired +
+            " persistent=" + this.persistentCount +
+            " once=" + this.onceCount +
+            " total=" + this.totalDispatchTime +
+            " max=" + this.maxDispatchTime +
+            (null == slowest ?
+                "" :
+                " slowest=" + slowest);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Receives measurements recorded by a {@link Watchers} created by {@link Watchers#metrics(WatchersMetricsSink, java.util.function.LongSupplier)}.
+ * Times are the difference between two readings of the clock given to the {@link Watchers}, so their unit is the unit
+ * of that clock.
+ */
+public interface WatchersMetricsSink {
+
+    /**
+     * A {@link WatchersMetricsSink} that ignores everything, a {@link Watchers} created with this sink performs no
+     * timing at all.
+     */
+    static WatchersMetricsSink none() {
+        return WatchersMetricsSinkNone.INSTANCE;
+    }
+
+    /**
+     * Records a single {@link Watchers#accept(Object)}, with the number of watchers present when it started and the
+     * time taken to fire all of them.
+     */
+    void dispatched(final int persistentCount,
+                    final int onceCount,
+                    final long time);
+
+    /**
+     * Called when a watcher is added. The same watcher may be added more than once.
+     */
+    void added(final Consumer<?> watcher);
+
+    /**
+     * Records the time taken by a single watcher to accept an event, including a watcher that threw.
+     */
+    void invoked(final Consumer<?> watcher,
+                 final long time);
+
+    /**
+     * Called when a registration of a watcher is removed, including a one time watcher after it is fired. A sink
+     * should release anything it holds for the watcher once every registration added has been removed.
+     */
+    void removed(final Consumer<?> watcher);
+}
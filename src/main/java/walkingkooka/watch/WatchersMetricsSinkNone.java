@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@link WatchersMetricsSink} returned by {@link WatchersMetricsSink#none()}.
+ */
+final class WatchersMetricsSinkNone implements WatchersMetricsSink {
+
+    /**
+     * Singleton
+     */
+    final static WatchersMetricsSinkNone INSTANCE = new WatchersMetricsSinkNone();
+
+    private WatchersMetricsSinkNone() {
+        super();
+    }
+
+    @Override
+    public void dispatched(final int persistentCount,
+                           final int onceCount,
+                           final long time) {
+        // nop
+    }
+
+    @Override
+    public void added(final Consumer<?> watcher) {
+        // nop
+    }
+
+    @Override
+    public void invoked(final Consumer<?> watcher,
+                        final long time) {
+        // nop
+    }
+
+    @Override
+    public void removed(final Consumer<?> watcher) {
+        // nop
+    }
+
+    @Override
+    public String toString() {
+        return "none";
+    }
+}
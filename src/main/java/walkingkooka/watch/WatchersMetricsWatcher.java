@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * The invocation measurements of a single watcher, aggregated by {@link WatchersMetrics}.
+ */
+final class WatchersMetricsWatcher {
+
+    static WatchersMetricsWatcher with(final Consumer<?> watcher) {
+        return new WatchersMetricsWatcher(watcher);
+    }
+
+    private WatchersMetricsWatcher(final Consumer<?> watcher) {
+        super();
+        this.watcher = watcher;
+    }
+
+    void record(final long time) {
+        this.histogram[WatchersMetrics.bucket(time)]++;
+        this.count++;
+        this.total += time;
+        if (time > this.max) {
+            this.max = time;
+        }
+    }
+
+    final Consumer<?> watcher;
+
+    final long[] histogram = new long[WatchersMetrics.HISTOGRAM_BUCKETS];
+
+    /**
+     * The number of registrations of the watcher that have not been removed.
+     */
+    int registrations;
+
+    long count;
+
+    long total;
+
+    long max;
+
+    @Override
+    public String toString() {
+        return this.watcher + " count=" + this.count + " total=" + this.total + " max=" + this.max;
+    }
+}
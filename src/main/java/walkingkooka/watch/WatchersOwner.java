@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects the removers for watchers added on behalf of a short-lived owner, such as a view, so they may all be
+ * removed by a single {@link #dispose()} when the owner is discarded. This is the explicit alternative to
+ * {@link WeakWatchers} that is also available in GWT and J2CL.
+ */
+public final class WatchersOwner {
+
+    /**
+     * Creates a new {@link WatchersOwner} with no watchers.
+     */
+    public static WatchersOwner create() {
+        return new WatchersOwner();
+    }
+
+    private WatchersOwner() {
+        super();
+    }
+
+    /**
+     * Adds the watcher to the given {@link Watchers}, it will be removed when this owner is disposed.
+     */
+    public <T> Runnable add(final Watchers<T> watchers,
+                            final Consumer<T> watcher) {
+        Objects.requireNonNull(watchers, "watchers");
+        Objects.requireNonNull(watcher, "watcher");
+
+        this.checkNotDisposed();
+
+        return this.own(
+            watchers.add(watcher)
+        );
+    }
+
+    /**
+     * Records a remover from any watchers, so it is run when this owner is disposed. The returned {@link Runnable}
+     * runs the remover and forgets it.
+     */
+    public Runnable own(final Runnable remover) {
+        Objects.requireNonNull(remover, "remover");
+
+        this.checkNotDisposed();
+
+        final Set<Runnable> removers = this.removers;
+        removers.add(remover);
+
+        return () -> {
+            removers.remove(remover);
+            remover.run();
+        };
+    }
+
+    private void checkNotDisposed() {
+        if (this.disposed) {
+            throw new IllegalStateException("Owner disposed");
+        }
+    }
+
+    /**
+     * Removes every watcher still owned, in the order they were added. Further adds will fail.
+     */
+    public void dispose() {
+        if (false == this.disposed) {
+            this.disposed = true;
+
+            final List<Runnable> removers = Lists.array();
+            removers.addAll(this.removers);
+            this.removers.clear();
+
+            // a failing remover does not stop the others
+            if (false == removers.isEmpty()) {
+                RunnableCollection.with(removers)
+                    .run();
+            }
+        }
+    }
+
+    /**
+     * Returns true if {@link #dispose()} has been called.
+     */
+    public boolean isDisposed() {
+        return this.disposed;
+    }
+
+    private final Set<Runnable> removers = Sets.ordered();
+
+    private boolean disposed;
+
+    @Override
+    public String toString() {
+        return this.disposed ?
+            "disposed" :
+            this.removers.size() + " owned";
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A group of watchers added with the same {@link Predicate}, which is registered as a single watcher so the
+ * {@link Predicate} is tested once per fire.
+ */
+final class WatchersPredicateConsumer<T> implements Consumer<T> {
+
+    static <T> WatchersPredicateConsumer<T> with(final Predicate<T> predicate,
+                                                 final Watchers<T> watchers) {
+        return new WatchersPredicateConsumer<>(
+            predicate,
+            watchers
+        );
+    }
+
+    private WatchersPredicateConsumer(final Predicate<T> predicate,
+                                      final Watchers<T> watchers) {
+        super();
+        this.predicate = predicate;
+        this.watchers = watchers;
+    }
+
+    /**
+     * Fires all watchers in the group on the calling thread if the {@link Predicate} matches.
+     */
+    @Override
+    public void accept(final T event) {
+        if (this.predicate.test(event)) {
+            this.watchers.fire(event);
+        }
+    }
+
+    final Predicate<T> predicate;
+
+    /**
+     * The watchers in this group.
+     */
+    final Watchers<T> watchers;
+
+    /**
+     * The registration of this group within the owning {@link Watchers}.
+     */
+    Runnable registration;
+
+    @Override
+    public String toString() {
+        return this.predicate + " " + this.watchers;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The groups of watchers added to a {@link Watchers} with a {@link Predicate}, created by the first such add, along
+ * with the number of watchers in all groups.
+ */
+final class WatchersPredicateGroups<T> {
+
+    static <T> WatchersPredicateGroups<T> create() {
+        return new WatchersPredicateGroups<>();
+    }
+
+    private WatchersPredicateGroups() {
+        super();
+    }
+
+    /**
+     * Each {@link Predicate} to the group of watchers added with it.
+     */
+    final Map<Predicate<T>, WatchersPredicateConsumer<T>> predicateToGroup = new IdentityHashMap<>();
+
+    /**
+     * The number of watchers in all groups.
+     */
+    int count;
+
+    @Override
+    public String toString() {
+        return this.predicateToGroup.toString();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+/**
+ * A {@link Runnable} that removes a watcher from a {@link WatchersPredicateConsumer} group, and then removes the group
+ * if it has no more watchers.
+ */
+final class WatchersPredicateRemovingRunnable<T> implements Runnable {
+
+    static <T> WatchersPredicateRemovingRunnable<T> with(final Runnable remover,
+                                                         final WatchersPredicateConsumer<T> group,
+                                                         final Watchers<T> watchers) {
+        return new WatchersPredicateRemovingRunnable<>(
+            remover,
+            group,
+            watchers
+        );
+    }
+
+    private WatchersPredicateRemovingRunnable(final Runnable remover,
+                                              final WatchersPredicateConsumer<T> group,
+                                              final Watchers<T> watchers) {
+        super();
+        this.remover = remover;
+        this.group = group;
+        this.watchers = watchers;
+    }
+
+    // Runnable.........................................................................................................
+
+    @Override
+    public void run() {
+        if (false == this.removed) {
+            this.removed = true;
+
+            this.remover.run();
+            this.watchers.removed(this.group);
+        }
+    }
+
+    private final Runnable remover;
+    private final WatchersPredicateConsumer<T> group;
+    private final Watchers<T> watchers;
+
+    /**
+     * Set by the first run, so running again does not change the count of watchers.
+     */
+    private boolean removed;
+
+    @Override
+    public String toString() {
+        return this.remover.toString();
+    }
+}
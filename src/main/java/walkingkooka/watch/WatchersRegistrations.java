@@ -0,0 +1,446 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+
+import java.util.List;
+
+/**
+ * The registrations shared by {@link Watchers} and its primitive and multi argument equivalents. Persistent and one
+ * time registrations are kept in separate doubly linked lists sorted by priority, each supporting constant time
+ * removal. Persistent registrations are also kept in a snapshot array rebuilt lazily after any change, and the one time
+ * list is taken by each fire in a single swap. Every owner fires the snapshot and one time list using the same loop,
+ * with a {@link WatchersInvoker} passing each watcher its arguments without boxing or a wrapper.
+ */
+final class WatchersRegistrations<W> {
+
+    /**
+     * The priority of watchers added without a priority.
+     */
+    final static int DEFAULT_PRIORITY = 0;
+
+    static <W> WatchersRegistrations<W> create() {
+        return new WatchersRegistrations<>();
+    }
+
+    private WatchersRegistrations() {
+        super();
+    }
+
+    /**
+     * Inserts a new persistent registration.
+     */
+    WatchersWatcherRemovingRunnable<W> add(final int priority,
+                                           final W watcher) {
+        final WatchersWatcherRemovingRunnable<W> registration = this.registration(
+            watcher,
+            false,
+            priority
+        );
+        this.link(registration);
+        this.count++;
+        this.snapshot = null;
+
+        return registration;
+    }
+
+    /**
+     * Inserts a detached persistent registration, which is fired after any registrations with the same priority.
+     */
+    void attach(final WatchersWatcherRemovingRunnable<W> registration) {
+        registration.registrations = this;
+        registration.sequence = this.sequence;
+        this.sequence++;
+
+        this.link(registration);
+        this.count++;
+        this.snapshot = null;
+    }
+
+    /**
+     * Inserts a new one time registration.
+     */
+    WatchersWatcherRemovingRunnable<W> addOnce(final int priority,
+                                               final W watcher) {
+        final WatchersWatcherRemovingRunnable<W> registration = this.registration(
+            watcher,
+            true,
+            priority
+        );
+        this.link(registration);
+        this.onceCount++;
+
+        return registration;
+    }
+
+    private WatchersWatcherRemovingRunnable<W> registration(final W watcher,
+                                                            final boolean once,
+                                                            final int priority) {
+        final WatchersWatcherRemovingRunnable<W> registration = WatchersWatcherRemovingRunnable.with(
+            watcher,
+            this,
+            once,
+            priority,
+            this.sequence
+        );
+        this.sequence++;
+
+        return registration;
+    }
+
+    /**
+     * Inserts the registration into its list after all registrations with the same or a higher priority. The search
+     * starts from the last registration, so adding with the same priority as the last is constant time.
+     */
+    private void link(final WatchersWatcherRemovingRunnable<W> registration) {
+        final boolean once = registration.once;
+        final int priority = registration.priority;
+
+        WatchersWatcherRemovingRunnable<W> previous = once ?
+            this.lastOnce :
+            this.last;
+        while (null != previous && previous.priority < priority) {
+            previous = previous.previous;
+        }
+
+        final WatchersWatcherRemovingRunnable<W> next;
+        if (null == previous) {
+            next = once ?
+                this.firstOnce :
+                this.first;
+
+            if (once) {
+                this.firstOnce = registration;
+            } else {
+                this.first = registration;
+            }
+        } else {
+            next = previous.next;
+            previous.next = registration;
+        }
+
+        if (null == next) {
+            if (once) {
+                this.lastOnce = registration;
+            } else {
+                this.last = registration;
+            }
+        } else {
+            next.previous = registration;
+        }
+
+        registration.previous = previous;
+        registration.next = next;
+    }
+
+    /**
+     * Unlinks the given registration in constant time, the snapshot is rebuilt by the next fire.
+     */
+    void remove(final WatchersWatcherRemovingRunnable<W> registration) {
+        if (registration.once) {
+            // a registration taken by a fire or removeOnce is no longer in the list
+            if (this.isActive(registration)) {
+                this.unlink(registration);
+                this.onceCount--;
+                removed(registration.watcher);
+            }
+        } else {
+            this.unlink(registration);
+
+            this.count--;
+            this.snapshot = null;
+            removed(registration.watcher);
+        }
+
+        registration.active = false;
+    }
+
+    /**
+     * Tells each watcher in a list of one time registrations taken by {@link #takeOnce()} that it was removed.
+     */
+    static <W> void removedOnce(final WatchersWatcherRemovingRunnable<W> firstOnce) {
+        for (WatchersWatcherRemovingRunnable<W> registration = firstOnce; null != registration; registration = registration.next) {
+            removed(registration.watcher);
+        }
+    }
+
+    /**
+     * Tells a watcher decorated by a {@link WatchersDispatcher} that its registration was removed, if it needs to know.
+     */
+    static void removed(final Object watcher) {
+        if (watcher instanceof WatchersRemovedWatcher) {
+            ((WatchersRemovedWatcher) watcher).removed();
+        }
+    }
+
+    private void unlink(final WatchersWatcherRemovingRunnable<W> registration) {
+        final boolean once = registration.once;
+        final WatchersWatcherRemovingRunnable<W> previous = registration.previous;
+        final WatchersWatcherRemovingRunnable<W> next = registration.next;
+
+        if (null == previous) {
+            if (once) {
+                this.firstOnce = next;
+            } else {
+                this.first = next;
+            }
+        } else {
+            previous.next = next;
+        }
+
+        if (null == next) {
+            if (once) {
+                this.lastOnce = previous;
+            } else {
+                this.last = previous;
+            }
+        } else {
+            next.previous = previous;
+        }
+
+        registration.previous = null;
+    }
+
+    /**
+     * Returns true if the registration has not been removed, fired if one time or cleared by {@link #takeOnce()}.
+     */
+    boolean isActive(final WatchersWatcherRemovingRunnable<W> registration) {
+        return registration.active &&
+            (false == registration.once || this.onceGeneration == registration.onceGeneration);
+    }
+
+    /**
+     * Returns true if there are no persistent or one time registrations.
+     */
+    boolean isEmpty() {
+        return null == this.first && null == this.firstOnce;
+    }
+
+    /**
+     * Detaches the entire list of one time registrations, returning its first registration.
+     */
+    WatchersWatcherRemovingRunnable<W> takeOnce() {
+        final WatchersWatcherRemovingRunnable<W> once = this.firstOnce;
+        if (null != once) {
+            this.firstOnce = null;
+            this.lastOnce = null;
+            this.onceCount = 0;
+            this.onceGeneration++;
+        }
+        return once;
+    }
+
+    /**
+     * Returns the only persistent registration if there is exactly one, otherwise null, letting a fire skip the
+     * snapshot.
+     */
+    WatchersWatcherRemovingRunnable<W> single() {
+        return 1 == this.count ?
+            this.first :
+            null;
+    }
+
+    /**
+     * Returns the snapshot of persistent registrations, creating and saving a new one if it was cleared. The snapshot
+     * of no registrations is shared.
+     */
+    WatchersWatcherRemovingRunnable<W>[] snapshot() {
+        WatchersWatcherRemovingRunnable<W>[] snapshot = this.snapshot;
+
+        if (null == snapshot) {
+            final int count = this.count;
+            snapshot = Cast.to(
+                0 == count ?
+                    EMPTY_SNAPSHOT :
+                    new WatchersWatcherRemovingRunnable[count]
+            );
+
+            int i = 0;
+            for (WatchersWatcherRemovingRunnable<W> registration = this.first; null != registration; registration = registration.next) {
+                snapshot[i] = registration;
+                i++;
+            }
+
+            this.snapshot = snapshot;
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Fires the snapshot and the one time registrations, which are taken so each is fired only once.
+     */
+    <E> void fire(final WatchersInvoker<W, E> invoker,
+                  final E event) {
+        fire(
+            invoker,
+            event,
+            this.snapshot(),
+            this.takeOnce()
+        );
+    }
+
+    /**
+     * Fires every active registration of the snapshot, merged with the one time list taken earlier in priority and then
+     * added order. Every watcher is fired even if some fail, afterwards rethrowing the first failure with any others
+     * added as suppressed exceptions.
+     */
+    static <W, E> void fire(final WatchersInvoker<W, E> invoker,
+                            final E event,
+                            final WatchersWatcherRemovingRunnable<W>[] snapshot,
+                            final WatchersWatcherRemovingRunnable<W> firstOnce) {
+        WatchersWatcherRemovingRunnable<W> once = firstOnce;
+        RuntimeException thrown = null;
+
+        if (null == once) {
+            for (final WatchersWatcherRemovingRunnable<W> registration : snapshot) {
+                if (registration.active) {
+                    try {
+                        invoker.invoke(
+                            registration.watcher,
+                            event
+                        );
+                    } catch (final RuntimeException cause) {
+                        thrown = failed(thrown, cause);
+                    }
+                }
+            }
+        } else {
+            final int count = snapshot.length;
+            int i = 0;
+
+            while (i < count || null != once) {
+                final WatchersWatcherRemovingRunnable<W> registration;
+
+                if (null != once && (i == count || once.isBefore(snapshot[i]))) {
+                    registration = once;
+                    once = once.next;
+
+                    if (false == registration.active) {
+                        continue;
+                    }
+                    registration.active = false;
+                } else {
+                    registration = snapshot[i];
+                    i++;
+
+                    if (false == registration.active) {
+                        continue;
+                    }
+                }
+
+                try {
+                    invoker.invoke(
+                        registration.watcher,
+                        event
+                    );
+                } catch (final RuntimeException cause) {
+                    thrown = failed(thrown, cause);
+                }
+            }
+        }
+
+        if (null != thrown) {
+            throw thrown;
+        }
+    }
+
+    /**
+     * Returns the first failure so far with the new failure added as suppressed, so a failing watcher does not stop
+     * later watchers.
+     */
+    static RuntimeException failed(final RuntimeException thrown,
+                                   final RuntimeException cause) {
+        RuntimeException result = cause;
+
+        if (null != thrown) {
+            thrown.addSuppressed(cause);
+            result = thrown;
+        }
+
+        return result;
+    }
+
+    /**
+     * The first and last persistent registrations of a doubly linked list which supports constant time removal.
+     */
+    private WatchersWatcherRemovingRunnable<W> first;
+    private WatchersWatcherRemovingRunnable<W> last;
+
+    /**
+     * The number of persistent registrations.
+     */
+    int count;
+
+    /**
+     * The snapshot shared by all registrations without any persistent watchers.
+     */
+    private final static WatchersWatcherRemovingRunnable<?>[] EMPTY_SNAPSHOT = new WatchersWatcherRemovingRunnable[0];
+
+    /**
+     * An immutable snapshot of all persistent registrations used by each fire. It is cleared by any add or remove and
+     * rebuilt lazily by the next fire.
+     */
+    private WatchersWatcherRemovingRunnable<W>[] snapshot;
+
+    /**
+     * The first and last one time registrations, these never appear in {@link #snapshot}.
+     */
+    private WatchersWatcherRemovingRunnable<W> firstOnce;
+    private WatchersWatcherRemovingRunnable<W> lastOnce;
+
+    /**
+     * The number of one time registrations waiting for the next fire.
+     */
+    int onceCount;
+
+    /**
+     * Incremented each time the one time list is taken, registrations with an older generation are no longer in it.
+     */
+    int onceGeneration;
+
+    /**
+     * Records the order all watchers were added, so one time watchers can be fired in order with persistent watchers.
+     */
+    private int sequence;
+
+    /**
+     * Lists all watchers in the order they would be fired.
+     */
+    @Override
+    public String toString() {
+        final List<W> watchers = Lists.array();
+
+        WatchersWatcherRemovingRunnable<W> registration = this.first;
+        WatchersWatcherRemovingRunnable<W> once = this.firstOnce;
+
+        while (null != registration || null != once) {
+            if (null != once && (null == registration || once.isBefore(registration))) {
+                watchers.add(once.watcher);
+                once = once.next;
+            } else {
+                watchers.add(registration.watcher);
+                registration = registration.next;
+            }
+        }
+
+        return watchers.toString();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+/**
+ * Schedules a task to run later, allowing timing to be injected so it may be controlled by tests, and implemented using
+ * a timer in a browser or a {@link java.util.concurrent.ScheduledExecutorService} in a JVM. Tasks should be run on the
+ * same thread that fires the watchers using them.
+ */
+@FunctionalInterface
+public interface WatchersScheduler {
+
+    /**
+     * Runs the task after the given delay in milliseconds, a zero delay runs the task at the next opportunity.
+     */
+    void schedule(final Runnable task,
+                  final long delay);
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * An {@link Executor} that queues tasks and runs them one at a time in order, using a single task given to the
+ * wrapped {@link Executor} to drain the queue. Any {@link RuntimeException} thrown by a task is given to the error
+ * handler and the next task is run. If the error handler itself throws, the drain ends with that exception and a new
+ * drain task is given to the wrapped {@link Executor} for any remaining tasks.
+ */
+final class WatchersSerialExecutor implements Executor, Runnable {
+
+    static WatchersSerialExecutor with(final Executor executor,
+                                       final Consumer<RuntimeException> errorHandler) {
+        return new WatchersSerialExecutor(
+            Objects.requireNonNull(executor, "executor"),
+            Objects.requireNonNull(errorHandler, "errorHandler")
+        );
+    }
+
+    private WatchersSerialExecutor(final Executor executor,
+                                   final Consumer<RuntimeException> errorHandler) {
+        super();
+        this.executor = executor;
+        this.errorHandler = errorHandler;
+    }
+
+    // Executor.........................................................................................................
+
+    @Override
+    public void execute(final Runnable task) {
+        final boolean schedule;
+
+        synchronized (this.tasks) {
+            this.tasks.add(task);
+
+            schedule = false == this.scheduled;
+            this.scheduled = true;
+        }
+
+        if (schedule) {
+            this.schedule();
+        }
+    }
+
+    /**
+     * Gives a drain task to the wrapped {@link Executor}, clearing the scheduled flag if it is rejected.
+     */
+    private void schedule() {
+        try {
+            this.executor.execute(this);
+        } catch (final RuntimeException cause) {
+            synchronized (this.tasks) {
+                this.scheduled = false;
+            }
+            throw cause;
+        }
+    }
+
+    // Runnable.........................................................................................................
+
+    /**
+     * Drains the queue, clearing the scheduled flag only once the queue is empty. A drain ended by the error handler
+     * or an {@link Error} schedules another drain if tasks remain, so later tasks are never stranded.
+     */
+    @Override
+    public void run() {
+        boolean drained = false;
+
+        try {
+            for (; ; ) {
+                final Runnable task;
+
+                synchronized (this.tasks) {
+                    task = this.tasks.poll();
+                    if (null == task) {
+                        this.scheduled = false;
+                        drained = true;
+                        break;
+                    }
+                }
+
+                try {
+                    task.run();
+                } catch (final RuntimeException cause) {
+                    this.errorHandler.accept(cause);
+                }
+            }
+        } finally {
+            if (false == drained) {
+                final boolean schedule;
+                synchronized (this.tasks) {
+                    schedule = false == this.tasks.isEmpty();
+                    this.scheduled = schedule;
+                }
+
+                if (schedule) {
+                    this.schedule();
+                }
+            }
+        }
+    }
+
+    private final Executor executor;
+
+    private final Consumer<RuntimeException> errorHandler;
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    /**
+     * True when a drain task has been given to the {@link Executor} and has not yet emptied the queue.
+     */
+    private boolean scheduled;
+
+    @Override
+    public String toString() {
+        return this.executor.toString();
+    }
+}
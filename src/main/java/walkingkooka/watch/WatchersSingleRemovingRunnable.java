@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Holds the only persistent watcher of a {@link Watchers}, so a {@link Watchers} with a single watcher does not create
+ * a {@link WatchersRegistrations}, and is also the {@link Runnable} that removes it. When another watcher is added the
+ * watcher is moved into a new {@link WatchersRegistrations}, after which removing uses its registration there. When a
+ * {@link Watchers} returns to a single watcher, a new instance stands in for the remaining registration, which is
+ * detached until another watcher is added.
+ */
+final class WatchersSingleRemovingRunnable<T> implements Runnable {
+
+    static <T> WatchersSingleRemovingRunnable<T> with(final Consumer<T> watcher,
+                                                      final int priority,
+                                                      final Watchers<T> watchers) {
+        return new WatchersSingleRemovingRunnable<>(
+            watcher,
+            priority,
+            watchers
+        );
+    }
+
+    private WatchersSingleRemovingRunnable(final Consumer<T> watcher,
+                                           final int priority,
+                                           final Watchers<T> watchers) {
+        super();
+        this.watcher = watcher;
+        this.priority = priority;
+        this.watchers = watchers;
+    }
+
+    // Runnable.........................................................................................................
+
+    @Override
+    public void run() {
+        final WatchersWatcherRemovingRunnable<Consumer<T>> registration = this.registration;
+        if (null != registration) {
+            registration.run();
+        } else {
+            this.watchers.removed(this);
+        }
+    }
+
+    /**
+     * Returns true if this watcher has not yet been removed.
+     */
+    boolean isActive() {
+        final WatchersWatcherRemovingRunnable<Consumer<T>> registration = this.registration;
+        return null != registration ?
+            registration.isActive() :
+            this.watchers.isSingle(this);
+    }
+
+    final Consumer<T> watcher;
+
+    final int priority;
+
+    private final Watchers<T> watchers;
+
+    /**
+     * The registration of the watcher after it was moved into a {@link WatchersRegistrations}, or the detached
+     * registration this stands in for.
+     */
+    WatchersWatcherRemovingRunnable<Consumer<T>> registration;
+
+    @Override
+    public String toString() {
+        return this.watcher.toString()
+            .concat(
+                this.isActive() ?
+                    " Active" :
+                    " Removed"
+            );
+    }
+}
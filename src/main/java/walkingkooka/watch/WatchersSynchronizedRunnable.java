@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+/**
+ * A {@link Runnable} that removes a watcher while holding the lock of its {@link Watchers}, returned when watchers may
+ * run on other threads, where they may remove themselves during a fire.
+ */
+final class WatchersSynchronizedRunnable implements Runnable {
+
+    static WatchersSynchronizedRunnable with(final Runnable remover,
+                                             final Watchers<?> watchers) {
+        return new WatchersSynchronizedRunnable(
+            remover,
+            watchers
+        );
+    }
+
+    private WatchersSynchronizedRunnable(final Runnable remover,
+                                         final Watchers<?> watchers) {
+        super();
+        this.remover = remover;
+        this.watchers = watchers;
+    }
+
+    // Runnable.........................................................................................................
+
+    @Override
+    public void run() {
+        synchronized (this.watchers) {
+            this.remover.run();
+        }
+    }
+
+    private final Runnable remover;
+    private final Watchers<?> watchers;
+
+    @Override
+    public String toString() {
+        return this.remover.toString();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import walkingkooka.Cast;
+
+import java.util.Arrays;
+
+/**
+ * A queue shared by any number of {@link Watchers} created with {@link Watchers#trampoline(WatchersTrampoline)}, so
+ * events fired by a watcher during a fire are queued rather than fired recursively. The outermost
+ * {@link Watchers#accept(Object)} drains the queue in first in first out order, so deep chains of watchers firing
+ * other watchers do not grow the stack, and every watcher sees an event only after the previous event was delivered
+ * to all its watchers. A trampoline is not thread safe, and should be shared by watchers fired on the same thread.
+ */
+public final class WatchersTrampoline {
+
+    /**
+     * Creates a {@link WatchersTrampoline} which fails with an {@link IllegalStateException} when a fire would queue
+     * more than the given number of events. An overflow abandons any queued events, and is thrown by the outermost
+     * {@link Watchers#accept(Object)} even if a watcher catches it, so a runaway cascade always stops.
+     */
+    public static WatchersTrampoline with(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + " <= 0");
+        }
+
+        return new WatchersTrampoline(capacity);
+    }
+
+    private WatchersTrampoline(final int capacity) {
+        super();
+        this.capacity = capacity;
+
+        final int initial = Math.min(
+            capacity,
+            INITIAL_SIZE
+        );
+        this.watchers = new Watchers[initial];
+        this.events = new Object[initial];
+    }
+
+    private final static int INITIAL_SIZE = 16;
+
+    /**
+     * Queues the event, and if this is the outermost fire drains the queue. Failures are collected and thrown after
+     * the queue is empty, with the first failure holding any others as suppressed.
+     */
+    <T> void fire(final Watchers<T> watchers,
+                  final T event) {
+        this.enqueue(
+            watchers,
+            event
+        );
+
+        if (false == this.draining) {
+            this.drain();
+        }
+    }
+
+    private void enqueue(final Watchers<?> watchers,
+                         final Object event) {
+        final int size = this.size;
+        if (size == this.capacity) {
+            final IllegalStateException overflow = new IllegalStateException("Trampoline overflow, more than " + this.capacity + " queued events");
+            if (null == this.overflow) {
+                this.overflow = overflow;
+            }
+            throw overflow;
+        }
+
+        if (size == this.watchers.length) {
+            this.grow();
+        }
+
+        final int tail = (this.head + size) % this.watchers.length;
+        this.watchers[tail] = watchers;
+        this.events[tail] = event;
+        this.size = size + 1;
+    }
+
+    /**
+     * Doubles the ring buffer without exceeding the capacity, moving the queued events to the start.
+     */
+    private void grow() {
+        final Watchers<?>[] watchers = this.watchers;
+        final Object[] events = this.events;
+        final int length = watchers.length;
+        final int head = this.head;
+
+        final int newLength = (int) Math.min(
+            (long) length * 2,
+            this.capacity
+        );
+        final Watchers<?>[] newWatchers = new Watchers[newLength];
+        final Object[] newEvents = new Object[newLength];
+
+        final int first = length - head;
+        System.arraycopy(watchers, head, newWatchers, 0, first);
+        System.arraycopy(watchers, 0, newWatchers, first, head);
+        System.arraycopy(events, head, newEvents, 0, first);
+        System.arraycopy(events, 0, newEvents, first, head);
+
+        this.watchers = newWatchers;
+        this.events = newEvents;
+        this.head = 0;
+    }
+
+    private void drain() {
+        this.draining = true;
+
+        RuntimeException thrown = null;
+        IllegalStateException overflow = null;
+        try {
+            while (this.size > 0 && null == this.overflow) {
+                final int head = this.head;
+                final Watchers<Object> watchers = Cast.to(this.watchers[head]);
+                final Object event = this.events[head];
+
+                this.watchers[head] = null;
+                this.events[head] = null;
+                this.head = (head + 1) % this.watchers.length;
+                this.size--;
+
+                try {
+                    watchers.fire(event);
+                } catch (final RuntimeException cause) {
+                    thrown = WatchersRegistrations.failed(thrown, cause);
+                }
+            }
+        } finally {
+            this.draining = false;
+
+            overflow = this.overflow;
+            this.overflow = null;
+
+            // an overflow or Error abandons any events still queued
+            if (this.size > 0) {
+                Arrays.fill(this.watchers, null);
+                Arrays.fill(this.events, null);
+                this.size = 0;
+            }
+            this.head = 0;
+        }
+
+        if (null != overflow) {
+            if (null != thrown && overflow != thrown) {
+                overflow.addSuppressed(thrown);
+            }
+            throw overflow;
+        }
+
+        if (null != thrown) {
+            throw thrown;
+        }
+    }
+
+    /**
+     * Returns true while the outermost fire is draining the queue.
+     */
+    public boolean isDraining() {
+        return this.draining;
+    }
+
+    private final int capacity;
+
+    /**
+     * A ring buffer of queued {@link Watchers} and their events, starting at {@link #head}.
+     */
+    private Watchers<?>[] watchers;
+    private Object[] events;
+
+    private int head;
+
+    private int size;
+
+    private boolean draining;
+
+    /**
+     * The first overflow of the drain in progress, which stops the drain and is then thrown.
+     */
+    private IllegalStateException overflow;
+
+    @Override
+    public String toString() {
+        return this.size + "/" + this.capacity;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Configures a {@link Watchers} created by {@link Watchers#watchdog(WatchersWatchdog)}, which times each watcher
+ * invocation with the clock and reports any invocation taking longer than the budget. Optionally a watcher that has
+ * been slow a number of times is quarantined, with all later events delivered to it using the {@link Executor},
+ * so it no longer delays the fire or the other watchers.
+ */
+public final class WatchersWatchdog {
+
+    /**
+     * Creates a {@link WatchersWatchdog} without quarantine. The budget is in the unit of the clock.
+     */
+    public static WatchersWatchdog with(final long budget,
+                                        final LongSupplier clock,
+                                        final WatchersWatchdogReporter reporter) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Invalid budget " + budget + " < 0");
+        }
+
+        return new WatchersWatchdog(
+            budget,
+            Objects.requireNonNull(clock, "clock"),
+            Objects.requireNonNull(reporter, "reporter"),
+            0,
+            null,
+            null
+        );
+    }
+
+    private WatchersWatchdog(final long budget,
+                             final LongSupplier clock,
+                             final WatchersWatchdogReporter reporter,
+                             final int quarantineOffences,
+                             final Executor executor,
+                             final Consumer<RuntimeException> errorHandler) {
+        super();
+        this.budget = budget;
+        this.clock = clock;
+        this.reporter = reporter;
+        this.quarantineOffences = quarantineOffences;
+        this.executor = executor;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Returns a {@link WatchersWatchdog} which quarantines a watcher once it has been slow the given number of times.
+     * A quarantined watcher receives events in order from its own queue drained using the {@link Executor}, with
+     * failures given to the error handler.
+     */
+    public WatchersWatchdog setQuarantine(final int offences,
+                                          final Executor executor,
+                                          final Consumer<RuntimeException> errorHandler) {
+        if (offences <= 0) {
+            throw new IllegalArgumentException("Invalid offences " + offences + " <= 0");
+        }
+        Objects.requireNonNull(executor, "executor");
+        Objects.requireNonNull(errorHandler, "errorHandler");
+
+        return new WatchersWatchdog(
+            this.budget,
+            this.clock,
+            this.reporter,
+            offences,
+            executor,
+            errorHandler
+        );
+    }
+
+    final long budget;
+
+    final LongSupplier clock;
+
+    final WatchersWatchdogReporter reporter;
+
+    /**
+     * The number of slow invocations before a watcher is quarantined, zero when quarantine is disabled.
+     */
+    final int quarantineOffences;
+
+    final Executor executor;
+
+    final Consumer<RuntimeException> errorHandler;
+
+    @Override
+    public String toString() {
+        return "budget=" + this.budget +
+            (0 == this.quarantineOffences ?
+                "" :
+                " quarantine=" + this.quarantineOffences);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.util.function.Consumer;
+
+/**
+ * Receives each watcher invocation that exceeded the budget of a {@link WatchersWatchdog}.
+ */
+@FunctionalInterface
+public interface WatchersWatchdogReporter {
+
+    /**
+     * Reports a slow invocation, with the total number of slow invocations by this watcher. The watcher
+     * {@link Object#toString()} is the one given when it was added. Quarantined is true when this invocation caused the
+     * watcher to be moved to the async lane.
+     */
+    void report(final Consumer<?> watcher,
+                final long time,
+                final int offences,
+                final boolean quarantined);
+}
@@ -17,42 +17,133 @@
 
 package walkingkooka.watch;
 
-import java.util.List;
-import java.util.function.Consumer;
-
 /**
- * A {@link Runnable} that removes the first instance of the {@link Consumer}.
+ * A node within the {@link WatchersRegistrations} doubly linked lists of registrations, and also the {@link Runnable}
+ * handle that removes its own registration in constant time. Removing the same watcher added twice requires running
+ * both handles. The watcher type is a {@link java.util.function.Consumer} or its primitive and multi argument
+ * equivalents.
  */
-final class WatchersWatcherRemovingRunnable<T> implements Runnable {
+final class WatchersWatcherRemovingRunnable<W> implements Runnable {
 
-    static <T> WatchersWatcherRemovingRunnable<T> with(final Consumer<T> watcher,
-                                                       final List<Consumer<T>> watchers) {
-        return new WatchersWatcherRemovingRunnable<>(watcher, watchers);
+    static <W> WatchersWatcherRemovingRunnable<W> with(final W watcher,
+                                                       final WatchersRegistrations<W> registrations,
+                                                       final boolean once,
+                                                       final int priority,
+                                                       final int sequence) {
+        return new WatchersWatcherRemovingRunnable<>(
+            watcher,
+            registrations,
+            once,
+            priority,
+            sequence
+        );
     }
 
-    private WatchersWatcherRemovingRunnable(final Consumer<T> watcher,
-                                            final List<Consumer<T>> watchers) {
+    private WatchersWatcherRemovingRunnable(final W watcher,
+                                            final WatchersRegistrations<W> registrations,
+                                            final boolean once,
+                                            final int priority,
+                                            final int sequence) {
         super();
         this.watcher = watcher;
-        this.watchers = watchers;
+        this.registrations = registrations;
+        this.once = once;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.onceGeneration = registrations.onceGeneration;
     }
 
     // Runnable.........................................................................................
 
     @Override
     public void run() {
-        this.watchers.remove(this.watcher);
+        if (this.active) {
+            final WatchersRegistrations<W> registrations = this.registrations;
+            if (null != registrations) {
+                registrations.remove(this);
+            } else {
+                this.active = false;
+            }
+
+            final Watchers<?> watchers = this.watchers;
+            if (null != watchers) {
+                watchers.removed(
+                    this,
+                    registrations
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns true if this registration has not yet been removed, or fired if it is a one time registration.
+     */
+    boolean isActive() {
+        final WatchersRegistrations<W> registrations = this.registrations;
+        return null != registrations ?
+            registrations.isActive(this) :
+            this.active;
     }
 
-    private final Consumer<T> watcher;
-    private final List<Consumer<T>> watchers;
+    final W watcher;
+
+    /**
+     * The registrations holding this registration, or null after a {@link Watchers} returned to holding a single
+     * watcher, leaving this registration detached until it is attached to new registrations.
+     */
+    WatchersRegistrations<W> registrations;
+
+    /**
+     * The {@link Watchers} that added this registration, told after it is removed so it may return to a smaller state,
+     * or null for the other owners.
+     */
+    Watchers<?> watchers;
+
+    /**
+     * True if this registration belongs to the one time list.
+     */
+    final boolean once;
+
+    /**
+     * The value of {@link WatchersRegistrations#onceGeneration} when this registration was added.
+     */
+    final int onceGeneration;
+
+    /**
+     * Registrations with a higher priority are fired first.
+     */
+    final int priority;
+
+    /**
+     * The order this registration was added or attached, used to fire one time and persistent watchers in order.
+     */
+    int sequence;
+
+    /**
+     * Returns true if this registration should be fired before the other, which is in the other list.
+     */
+    boolean isBefore(final WatchersWatcherRemovingRunnable<W> other) {
+        final int priority = this.priority;
+        final int otherPriority = other.priority;
+
+        // a negative difference remains correct even if sequence overflows
+        return priority > otherPriority ||
+            (priority == otherPriority && this.sequence - other.sequence < 0);
+    }
+
+    /**
+     * Links maintained by {@link WatchersRegistrations}.
+     */
+    WatchersWatcherRemovingRunnable<W> previous;
+    WatchersWatcherRemovingRunnable<W> next;
+
+    boolean active = true;
 
     @Override
     public String toString() {
-        final Consumer<T> watcher = this.watcher;
-        return watcher.toString()
+        return this.watcher.toString()
             .concat(
-                this.watchers.contains(watcher) ?
+                this.isActive() ?
                     " Active" :
                     " Removed"
             );
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Consumer} that also supports watchers that are only weakly reachable, so a short-lived watcher that is never
+ * removed does not leak. Watchers that have been garbage collected are removed in a batch by polling a
+ * {@link ReferenceQueue} on add and accept, rather than scanning every watcher on every fire.
+ * <br>
+ * This class is only available in the JVM, {@link WatchersOwner} offers explicit owner-scoped disposal for
+ * GWT and J2CL.
+ */
+public final class WeakWatchers<T> implements Consumer<T> {
+
+    /**
+     * Creates a new empty {@link WeakWatchers}.
+     */
+    public static <T> WeakWatchers<T> create() {
+        return new WeakWatchers<>();
+    }
+
+    private WeakWatchers() {
+        super();
+    }
+
+    /**
+     * {@see Watchers#add(Consumer)}
+     */
+    public Runnable add(final Consumer<T> watcher) {
+        this.expunge();
+        return this.watchers.add(watcher);
+    }
+
+    /**
+     * Adds a watcher which is only weakly reachable from this {@link WeakWatchers}. The caller must keep a strong
+     * reference to the watcher for as long as it should receive events, and it is removed some time after it becomes
+     * unreachable. The watcher may still be removed early by calling the returned {@link Runnable}.
+     */
+    public Runnable addWeak(final Consumer<T> watcher) {
+        Objects.requireNonNull(watcher, "watcher");
+
+        this.expunge();
+
+        final WeakWatchersReference<T> reference = WeakWatchersReference.with(
+            watcher,
+            this.queue
+        );
+        reference.remover = this.watchers.add(reference);
+        return reference;
+    }
+
+    /**
+     * {@see Watchers#addOnce(Consumer)}
+     */
+    public Runnable addOnce(final Consumer<T> watcher) {
+        this.expunge();
+        return this.watchers.addOnce(watcher);
+    }
+
+    /**
+     * {@see Watchers#addAll(Collection)}
+     */
+    public Runnable addAll(final Collection<Consumer<T>> watchers) {
+        this.expunge();
+        return this.watchers.addAll(watchers);
+    }
+
+    /**
+     * {@see Watchers#removeOnce()}
+     */
+    public void removeOnce() {
+        this.watchers.removeOnce();
+    }
+
+    /**
+     * Removes any garbage collected watchers and then fires the remaining watchers.
+     */
+    @Override
+    public void accept(final T source) {
+        this.expunge();
+        this.watchers.accept(source);
+    }
+
+    /**
+     * Removes all watchers whose reference has been cleared and enqueued since the last poll.
+     */
+    private void expunge() {
+        for (; ; ) {
+            final Reference<?> reference = this.queue.poll();
+            if (null == reference) {
+                break;
+            }
+            ((WeakWatchersReference<?>) reference).run();
+        }
+    }
+
+    private final Watchers<T> watchers = Watchers.create();
+
+    private final ReferenceQueue<Consumer<T>> queue = new ReferenceQueue<>();
+
+    @Override
+    public String toString() {
+        return this.watchers.toString();
+    }
+}
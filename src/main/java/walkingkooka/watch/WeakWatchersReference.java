@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.Consumer;
+
+/**
+ * A {@link WeakReference} to a watcher added to a {@link WeakWatchers}, which forwards events while the watcher is
+ * reachable and also removes its registration when run.
+ */
+final class WeakWatchersReference<T> extends WeakReference<Consumer<T>> implements Consumer<T>, Runnable {
+
+    static <T> WeakWatchersReference<T> with(final Consumer<T> watcher,
+                                             final ReferenceQueue<Consumer<T>> queue) {
+        return new WeakWatchersReference<>(
+            watcher,
+            queue
+        );
+    }
+
+    private WeakWatchersReference(final Consumer<T> watcher,
+                                  final ReferenceQueue<Consumer<T>> queue) {
+        super(watcher, queue);
+    }
+
+    // Consumer.........................................................................................................
+
+    @Override
+    public void accept(final T event) {
+        final Consumer<T> watcher = this.get();
+
+        // watcher was collected but the registration has not yet been expunged
+        if (null != watcher) {
+            watcher.accept(event);
+        }
+    }
+
+    // Runnable.........................................................................................................
+
+    /**
+     * Clears the reference and removes the registration, this is called by the remover returned to the user and when
+     * the reference is polled from the queue.
+     */
+    @Override
+    public void run() {
+        this.clear();
+        this.remover.run();
+    }
+
+    /**
+     * The remover returned by {@link Watchers#add(Consumer)}, set immediately after this reference is added.
+     */
+    Runnable remover;
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.get());
+    }
+}
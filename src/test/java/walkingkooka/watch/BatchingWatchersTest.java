@@ -0,0 +1,271 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BatchingWatchersTest implements ClassTesting2<BatchingWatchers<?>>,
+    ToStringTesting<BatchingWatchers<?>> {
+
+    private final static int MAX_SIZE = 3;
+    private final static long MAX_DELAY = 100;
+
+    @Test
+    public void testWithInvalidMaxSizeFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> BatchingWatchers.with(
+                0,
+                MAX_DELAY,
+                () -> 0,
+                (t, d) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testWithInvalidMaxDelayFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> BatchingWatchers.with(
+                MAX_SIZE,
+                0,
+                () -> 0,
+                (t, d) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullClockFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BatchingWatchers.with(
+                MAX_SIZE,
+                MAX_DELAY,
+                null,
+                (t, d) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullSchedulerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BatchingWatchers.with(
+                MAX_SIZE,
+                MAX_DELAY,
+                () -> 0,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testMaxSize() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+
+        final List<List<String>> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept("1");
+        watchers.accept("2");
+
+        this.checkEquals(Lists.empty(), fired);
+
+        watchers.accept("3");
+        watchers.accept("4");
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of("1", "2", "3")
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testMaxDelayScheduled() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+
+        final List<List<String>> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept("1");
+        watchers.accept("2");
+
+        this.checkEquals(1, this.tasks.size(), "tasks");
+        this.checkEquals(MAX_DELAY, this.delays.get(0), "delay");
+
+        this.tasks.get(0).run();
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of("1", "2")
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testMaxDelayClockCheckedDuringAccept() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+
+        final List<List<String>> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept("1");
+        this.now = MAX_DELAY;
+        watchers.accept("2");
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of("1", "2")
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testScheduledTaskForDeliveredBatchIgnored() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+
+        final List<List<String>> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept("1");
+        watchers.accept("2");
+        watchers.accept("3");
+        watchers.accept("4");
+
+        this.tasks.get(0).run();
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of("1", "2", "3")
+            ),
+            fired
+        );
+
+        this.tasks.get(1).run();
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of("1", "2", "3"),
+                Lists.of("4")
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testFlushAndAddOnce() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+
+        final List<List<String>> fired = Lists.array();
+        watchers.addOnce(fired::add);
+
+        watchers.flush();
+        watchers.accept("1");
+        watchers.flush();
+        watchers.accept("2");
+        watchers.flush();
+
+        this.checkEquals(
+            Lists.of(
+                Lists.of("1")
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+
+        final List<List<String>> fired = Lists.array();
+        watchers.add(fired::add).run();
+
+        watchers.accept("1");
+        watchers.flush();
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    private BatchingWatchers<String> createWatchers() {
+        return BatchingWatchers.with(
+            MAX_SIZE,
+            MAX_DELAY,
+            () -> this.now,
+            (task, delay) -> {
+                this.tasks.add(task);
+                this.delays.add(delay);
+            }
+        );
+    }
+
+    private long now;
+
+    private final List<Runnable> tasks = Lists.array();
+
+    private final List<Long> delays = Lists.array();
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final BatchingWatchers<String> watchers = this.createWatchers();
+        watchers.add(
+            new Consumer<>() {
+                @Override
+                public void accept(final List<String> s) {
+                }
+
+                @Override
+                public String toString() {
+                    return "watcher1";
+                }
+            }
+        );
+
+        this.toStringAndCheck(watchers, "[watcher1]");
+    }
+
+    @Override
+    public Class<BatchingWatchers<?>> type() {
+        return Cast.to(BatchingWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
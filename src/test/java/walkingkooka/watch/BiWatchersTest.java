@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BiWatchersTest implements ClassTesting2<BiWatchers<?, ?>>,
+    ToStringTesting<BiWatchers<?, ?>> {
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BiWatchers.create().add(null)
+        );
+    }
+
+    @Test
+    public void testAddOnceNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> BiWatchers.create().addOnce(null)
+        );
+    }
+
+    @Test
+    public void testAddAndFire() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i) -> fired.add(s + i));
+
+        watchers.accept("a", 1);
+        watchers.accept("b", 2);
+
+        this.checkEquals(Lists.of("a1", "b2"), fired);
+    }
+
+    @Test
+    public void testAcceptNulls() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i) -> fired.add(s + i));
+
+        watchers.accept(null, null);
+
+        this.checkEquals(Lists.of("nullnull"), fired);
+    }
+
+    @Test
+    public void testAddRemove() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover = watchers.add((s, i) -> fired.add(s + i));
+
+        watchers.accept("a", 1);
+        remover.run();
+        remover.run();
+        watchers.accept("b", 2);
+
+        this.checkEquals(Lists.of("a1"), fired);
+    }
+
+    @Test
+    public void testAddOnce() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce((s, i) -> fired.add(s + i));
+
+        watchers.accept("a", 1);
+        watchers.accept("b", 2);
+
+        this.checkEquals(Lists.of("a1"), fired);
+    }
+
+    @Test
+    public void testRemoveOnce() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce((s, i) -> fired.add(s + i));
+        watchers.removeOnce();
+
+        watchers.accept("a", 1);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testPriority() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i) -> fired.add("0"));
+        watchers.addOnce(2, (s, i) -> fired.add("once2"));
+        watchers.add(1, (s, i) -> fired.add("1"));
+
+        watchers.accept("a", 1);
+        watchers.accept("b", 2);
+
+        this.checkEquals(Lists.of("once2", "1", "0", "1", "0"), fired);
+    }
+
+    @Test
+    public void testFailureFiresRemainingWatchers() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<String> fired = Lists.array();
+
+        watchers.add((s, i) -> {
+            throw thrown;
+        });
+        watchers.add((s, i) -> fired.add(s + i));
+
+        this.checkEquals(
+            thrown,
+            assertThrows(
+                RuntimeException.class,
+                () -> watchers.accept("a", 1)
+            )
+        );
+        this.checkEquals(Lists.of("a1"), fired);
+    }
+
+    @Test
+    public void testAcceptDuringFire() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i) -> {
+            if (1 == i) {
+                watchers.accept("b", 2);
+            }
+        });
+        watchers.add((s, i) -> fired.add(s + i));
+
+        watchers.accept("a", 1);
+
+        this.checkEquals(Lists.of("b2", "a1"), fired);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final BiWatchers<String, Integer> watchers = BiWatchers.create();
+        watchers.add(this.watcher("watcher1"));
+        watchers.addOnce(this.watcher("watcher2"));
+
+        this.toStringAndCheck(watchers, "[watcher1, watcher2]");
+    }
+
+    private BiConsumer<String, Integer> watcher(final String toString) {
+        return new BiConsumer<>() {
+            @Override
+            public void accept(final String s,
+                               final Integer i) {
+            }
+
+            @Override
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    @Override
+    public Class<BiWatchers<?, ?>> type() {
+        return Cast.to(BiWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
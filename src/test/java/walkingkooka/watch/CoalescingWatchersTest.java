@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CoalescingWatchersTest implements ClassTesting2<CoalescingWatchers<?>>,
+    ToStringTesting<CoalescingWatchers<?>> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+    private final static String SOURCE3C = "Source3C";
+
+    @Test
+    public void testScheduledNullSchedulerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingWatchers.scheduled(null)
+        );
+    }
+
+    @Test
+    public void testAcceptNullSourceFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> CoalescingWatchers.manual().accept(null)
+        );
+    }
+
+    // manual...........................................................................................................
+
+    @Test
+    public void testManualFlush() {
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.manual();
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.empty(), fired);
+        this.checkEquals(true, watchers.isPending(), "isPending");
+
+        watchers.flush();
+
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+        this.checkEquals(false, watchers.isPending(), "isPending");
+
+        watchers.flush();
+
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+    }
+
+    @Test
+    public void testManualAddOnce() {
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.manual();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce(fired::add);
+
+        watchers.accept(SOURCE1A);
+        watchers.flush();
+
+        watchers.accept(SOURCE2B);
+        watchers.flush();
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    // scheduled........................................................................................................
+
+    @Test
+    public void testScheduled() {
+        final List<Runnable> tasks = Lists.array();
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.scheduled(
+            (task, delay) -> tasks.add(task)
+        );
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(1, tasks.size(), "tasks");
+        this.checkEquals(Lists.empty(), fired);
+
+        tasks.get(0).run();
+
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+
+        watchers.accept(SOURCE3C);
+
+        this.checkEquals(2, tasks.size(), "tasks");
+
+        tasks.get(1).run();
+
+        this.checkEquals(Lists.of(SOURCE2B, SOURCE3C), fired);
+    }
+
+    @Test
+    public void testScheduledAfterManualFlush() {
+        final List<Runnable> tasks = Lists.array();
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.scheduled(
+            (task, delay) -> tasks.add(task)
+        );
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept(SOURCE1A);
+        watchers.flush();
+
+        tasks.get(0).run();
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    // outermost........................................................................................................
+
+    @Test
+    public void testOutermostDeliversImmediately() {
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.outermost();
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testOutermostCoalescesNested() {
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.outermost();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce(
+            (s) -> {
+                watchers.accept(SOURCE2B);
+                watchers.accept(SOURCE3C);
+            }
+        );
+        watchers.add(fired::add);
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE3C), fired);
+        this.checkEquals(false, watchers.isPending(), "isPending");
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final CoalescingWatchers<String> watchers = CoalescingWatchers.manual();
+        watchers.add(
+            new Consumer<>() {
+                @Override
+                public void accept(final String s) {
+                }
+
+                @Override
+                public String toString() {
+                    return "watcher1";
+                }
+            }
+        );
+
+        this.toStringAndCheck(watchers, "[watcher1]");
+    }
+
+    @Override
+    public Class<CoalescingWatchers<?>> type() {
+        return Cast.to(CoalescingWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
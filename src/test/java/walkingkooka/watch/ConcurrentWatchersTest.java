@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ConcurrentWatchersTest implements ClassTesting2<ConcurrentWatchers<?>>,
+    ToStringTesting<ConcurrentWatchers<?>> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+    private final static String SOURCE3C = "Source3C";
+
+    // add..............................................................................................................
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ConcurrentWatchers.create().add(null)
+        );
+    }
+
+    @Test
+    public void testAcceptNullSourceFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ConcurrentWatchers.create().accept(null)
+        );
+    }
+
+    @Test
+    public void testAddAndFire() {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+        watchers.add(this.watcher(fired1));
+        watchers.add(this.watcher(fired2));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired1);
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired2);
+    }
+
+    @Test
+    public void testAddMultipleTimesRemovedOnce() {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+
+        final List<String> fired = Lists.array();
+        final Consumer<String> watcher = this.watcher(fired);
+        final Runnable remover = watchers.add(watcher);
+        watchers.add(watcher);
+
+        watchers.accept(SOURCE1A);
+
+        remover.run();
+        remover.run();
+
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE1A, SOURCE2B), fired);
+    }
+
+    // addOnce..........................................................................................................
+
+    @Test
+    public void testAddOnceNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> ConcurrentWatchers.create().addOnce(null)
+        );
+    }
+
+    @Test
+    public void testAddOnceAddAndFireOrder() {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+
+        final List<String> fired = Lists.array();
+
+        watchers.addOnce((s) -> fired.add("once1-" + s));
+        watchers.add((s) -> fired.add("persistent-" + s));
+        watchers.addOnce((s) -> fired.add("once2-" + s));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(
+            Lists.of(
+                "once1-" + SOURCE1A,
+                "persistent-" + SOURCE1A,
+                "once2-" + SOURCE1A,
+                "persistent-" + SOURCE2B
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddOnceAndRemoveBeforeFire() {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+
+        watchers.addOnce(this.watcher(fired1)).run();
+        watchers.addOnce(this.watcher(fired2));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.empty(), fired1);
+        this.checkEquals(Lists.of(SOURCE1A), fired2);
+    }
+
+    @Test
+    public void testAddOnceConcurrentFiresExactlyOnce() throws Exception {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+        final int threads = 8;
+        final int onceWatchers = 10000;
+
+        final AtomicInteger[] counters = new AtomicInteger[onceWatchers];
+        for (int i = 0; i < onceWatchers; i++) {
+            counters[i] = new AtomicInteger();
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicInteger adding = new AtomicInteger(1);
+
+            final Future<?> adder = executor.submit(() -> {
+                start.await();
+                for (final AtomicInteger counter : counters) {
+                    watchers.addOnce((s) -> counter.incrementAndGet());
+                }
+                adding.set(0);
+                return null;
+            });
+
+            final List<Future<?>> firers = Lists.array();
+            for (int i = 0; i < threads; i++) {
+                firers.add(
+                    executor.submit(() -> {
+                        start.await();
+                        while (adding.get() > 0) {
+                            watchers.accept(SOURCE1A);
+                        }
+                        return null;
+                    })
+                );
+            }
+
+            start.countDown();
+
+            adder.get();
+            for (final Future<?> firer : firers) {
+                firer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        watchers.accept(SOURCE3C);
+
+        for (final AtomicInteger counter : counters) {
+            this.checkEquals(1, counter.get(), "once watcher fire count");
+        }
+        this.toStringAndCheck(watchers, "[]");
+    }
+
+    // removeOnce.......................................................................................................
+
+    @Test
+    public void testAddAddOnceRemoveOnceAndFire() {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+
+        final Runnable remover = watchers.addOnce(this.watcher(fired1));
+        watchers.add(this.watcher(fired2));
+
+        watchers.removeOnce();
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.empty(), fired1);
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired2);
+        this.checkEquals(false, remover.toString().endsWith("Active"));
+    }
+
+    private Consumer<String> watcher(final List<String> fired) {
+        return (s) -> fired.add(s);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final ConcurrentWatchers<String> watchers = ConcurrentWatchers.create();
+        watchers.add(this.watcher("watcher1"));
+        watchers.add(this.watcher("watcher2")).run();
+        watchers.addOnce(this.watcher("watcher3"));
+
+        this.toStringAndCheck(watchers, "[watcher1, watcher3]");
+    }
+
+    private Consumer<String> watcher(final String toString) {
+        return new Consumer<>() {
+            @Override
+            public void accept(String s) {
+                throw new UnsupportedOperationException();
+            }
+
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    @Override
+    public Class<ConcurrentWatchers<?>> type() {
+        return Cast.to(ConcurrentWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DoubleWatchersTest implements ClassTesting2<DoubleWatchers>,
+    ToStringTesting<DoubleWatchers> {
+
+    private final static double VALUE1 = 1.5;
+    private final static double VALUE2 = 2.5;
+    private final static double VALUE3 = 3.5;
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DoubleWatchers.create().add(null)
+        );
+    }
+
+    @Test
+    public void testAddOnceNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> DoubleWatchers.create().addOnce(null)
+        );
+    }
+
+    @Test
+    public void testAddAndFire() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<Double> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept(VALUE1);
+        watchers.accept(VALUE2);
+
+        this.checkEquals(Lists.of(VALUE1, VALUE2), fired);
+    }
+
+    @Test
+    public void testAddRemove() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<Double> fired = Lists.array();
+        final Runnable remover = watchers.add(fired::add);
+
+        watchers.accept(VALUE1);
+        remover.run();
+        remover.run();
+        watchers.accept(VALUE2);
+
+        this.checkEquals(Lists.of(VALUE1), fired);
+    }
+
+    @Test
+    public void testAddOnce() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<Double> fired = Lists.array();
+        watchers.addOnce(fired::add);
+
+        watchers.accept(VALUE1);
+        watchers.accept(VALUE2);
+
+        this.checkEquals(Lists.of(VALUE1), fired);
+    }
+
+    @Test
+    public void testAddOnceRemove() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<Double> fired = Lists.array();
+        watchers.addOnce(fired::add)
+            .run();
+
+        watchers.accept(VALUE1);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testRemoveOnce() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<Double> fired = Lists.array();
+        watchers.addOnce(fired::add);
+        watchers.add(fired::add);
+
+        watchers.removeOnce();
+        watchers.accept(VALUE1);
+
+        this.checkEquals(Lists.of(VALUE1), fired);
+    }
+
+    @Test
+    public void testPriority() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((v) -> fired.add("0"));
+        watchers.addOnce(2, (v) -> fired.add("once2"));
+        watchers.add(1, (v) -> fired.add("1"));
+        watchers.addOnce((v) -> fired.add("once0"));
+
+        watchers.accept(VALUE1);
+        watchers.accept(VALUE2);
+
+        this.checkEquals(Lists.of("once2", "1", "0", "once0", "1", "0"), fired);
+    }
+
+    @Test
+    public void testFailureFiresRemainingWatchers() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final RuntimeException thrown1 = new RuntimeException("fail1");
+        final RuntimeException thrown2 = new RuntimeException("fail2");
+        final List<Double> fired = Lists.array();
+
+        watchers.add((v) -> {
+            throw thrown1;
+        });
+        watchers.addOnce((v) -> {
+            throw thrown2;
+        });
+        watchers.add(fired::add);
+
+        final RuntimeException caught = assertThrows(
+            RuntimeException.class,
+            () -> watchers.accept(VALUE3)
+        );
+        this.checkEquals(thrown1, caught);
+        this.checkEquals(Lists.of(thrown2), Lists.of(caught.getSuppressed()));
+        this.checkEquals(Lists.of(VALUE3), fired);
+    }
+
+    @Test
+    public void testAcceptDuringFire() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+
+        final List<Object> fired = Lists.array();
+        watchers.add((v) -> {
+            if (VALUE1 == v) {
+                watchers.accept(VALUE2);
+            }
+        });
+        watchers.add(fired::add);
+
+        watchers.accept(VALUE1);
+
+        this.checkEquals(Lists.of(VALUE2, VALUE1), fired);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+        watchers.add(this.watcher("watcher1"));
+        watchers.addOnce(this.watcher("watcher2"));
+
+        this.toStringAndCheck(watchers, "[watcher1, watcher2]");
+    }
+
+    private DoubleConsumer watcher(final String toString) {
+        return new DoubleConsumer() {
+            @Override
+            public void accept(final double value) {
+            }
+
+            @Override
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    @Override
+    public Class<DoubleWatchers> type() {
+        return DoubleWatchers.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
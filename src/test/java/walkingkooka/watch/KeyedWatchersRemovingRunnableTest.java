@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.function.Consumer;
+
+public final class KeyedWatchersRemovingRunnableTest implements ClassTesting2<KeyedWatchersRemovingRunnable<?, ?>>,
+    ToStringTesting<KeyedWatchersRemovingRunnable<?, ?>> {
+
+    @Test
+    public void testToStringActive() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+        this.toStringAndCheck(
+            watchers.add("key1", this.watcher()),
+            "key1 Watcher123 Active"
+        );
+    }
+
+    @Test
+    public void testToStringRemoved() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+        final Runnable remover = watchers.add("key1", this.watcher());
+        remover.run();
+
+        this.toStringAndCheck(
+            remover,
+            "key1 Watcher123 Removed"
+        );
+    }
+
+    private Consumer<String> watcher() {
+        return new Consumer<>() {
+            @Override
+            public void accept(final String s) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                return "Watcher123";
+            }
+        };
+    }
+
+    @Override
+    public Class<KeyedWatchersRemovingRunnable<?, ?>> type() {
+        return Cast.to(KeyedWatchersRemovingRunnable.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
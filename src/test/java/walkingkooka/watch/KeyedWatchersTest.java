@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class KeyedWatchersTest implements ClassTesting2<KeyedWatchers<?, ?>>,
+    ToStringTesting<KeyedWatchers<?, ?>> {
+
+    private final static String KEY1 = "key1";
+    private final static String KEY2 = "key2";
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+
+    @Test
+    public void testAddNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> KeyedWatchers.<String, String>create()
+                .add(null, this.watcher(Lists.array()))
+        );
+    }
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> KeyedWatchers.<String, String>create()
+                .add(KEY1, null)
+        );
+    }
+
+    @Test
+    public void testAcceptNullKeyFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> KeyedWatchers.<String, String>create()
+                .accept(null, SOURCE1A)
+        );
+    }
+
+    @Test
+    public void testAcceptNullSourceFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> KeyedWatchers.<String, String>create()
+                .accept(KEY1, null)
+        );
+    }
+
+    @Test
+    public void testAddAndFire() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+
+        watchers.add(KEY1, this.watcher(fired1));
+        watchers.add(KEY2, this.watcher(fired2));
+
+        watchers.accept(KEY1, SOURCE1A);
+        watchers.accept(KEY2, SOURCE2B);
+        watchers.accept("unknown", SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired1);
+        this.checkEquals(Lists.of(SOURCE2B), fired2);
+    }
+
+    @Test
+    public void testRemoveReclaimsKey() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+
+        final List<String> fired = Lists.array();
+
+        final Runnable remover1 = watchers.add(KEY1, this.watcher(fired));
+        final Runnable remover2 = watchers.add(KEY1, this.watcher(fired));
+
+        remover1.run();
+        this.checkEquals(1, watchers.keyCount(), "keyCount");
+
+        remover2.run();
+        this.checkEquals(0, watchers.keyCount(), "keyCount");
+
+        watchers.accept(KEY1, SOURCE1A);
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testRemoveAfterKeyReclaimedAndReAdded() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+
+        final List<String> fired = Lists.array();
+
+        final Runnable remover = watchers.add(KEY1, this.watcher(fired));
+        remover.run();
+
+        watchers.add(KEY1, this.watcher(fired));
+        remover.run();
+
+        watchers.accept(KEY1, SOURCE1A);
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    @Test
+    public void testAddOnceReclaimsKeyAfterFire() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce(KEY1, this.watcher(fired));
+
+        watchers.accept(KEY1, SOURCE1A);
+        watchers.accept(KEY1, SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+        this.checkEquals(0, watchers.keyCount(), "keyCount");
+    }
+
+    @Test
+    public void testRemoveOnceReclaimsKey() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce(KEY1, this.watcher(fired));
+        watchers.removeOnce(KEY1);
+
+        watchers.accept(KEY1, SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+        this.checkEquals(0, watchers.keyCount(), "keyCount");
+    }
+
+    private Consumer<String> watcher(final List<String> fired) {
+        return fired::add;
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+        watchers.add(
+            KEY1,
+            new Consumer<>() {
+                @Override
+                public void accept(final String s) {
+                }
+
+                @Override
+                public String toString() {
+                    return "watcher1";
+                }
+            }
+        );
+
+        this.toStringAndCheck(watchers, "{key1=[watcher1]}");
+    }
+
+    @Override
+    public Class<KeyedWatchers<?, ?>> type() {
+        return Cast.to(KeyedWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
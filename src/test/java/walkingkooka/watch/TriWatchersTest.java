@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TriWatchersTest implements ClassTesting2<TriWatchers<?, ?, ?>>,
+    ToStringTesting<TriWatchers<?, ?, ?>> {
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TriWatchers.create().add(null)
+        );
+    }
+
+    @Test
+    public void testAddOnceNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TriWatchers.create().addOnce(null)
+        );
+    }
+
+    @Test
+    public void testAddAndFire() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i, b) -> fired.add(s + i + b));
+
+        watchers.accept("a", 1, true);
+        watchers.accept("b", 2, false);
+
+        this.checkEquals(Lists.of("a1true", "b2false"), fired);
+    }
+
+    @Test
+    public void testAcceptNulls() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i, b) -> fired.add(s + i + b));
+
+        watchers.accept(null, null, null);
+
+        this.checkEquals(Lists.of("nullnullnull"), fired);
+    }
+
+    @Test
+    public void testAddRemove() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover = watchers.add((s, i, b) -> fired.add(s + i + b));
+
+        watchers.accept("a", 1, true);
+        remover.run();
+        remover.run();
+        watchers.accept("b", 2, false);
+
+        this.checkEquals(Lists.of("a1true"), fired);
+    }
+
+    @Test
+    public void testAddOnce() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce((s, i, b) -> fired.add(s + i + b));
+
+        watchers.accept("a", 1, true);
+        watchers.accept("b", 2, false);
+
+        this.checkEquals(Lists.of("a1true"), fired);
+    }
+
+    @Test
+    public void testRemoveOnce() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce((s, i, b) -> fired.add(s + i + b));
+        watchers.removeOnce();
+
+        watchers.accept("a", 1, true);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testPriority() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i, b) -> fired.add("0"));
+        watchers.addOnce(2, (s, i, b) -> fired.add("once2"));
+        watchers.add(1, (s, i, b) -> fired.add("1"));
+
+        watchers.accept("a", 1, true);
+        watchers.accept("b", 2, false);
+
+        this.checkEquals(Lists.of("once2", "1", "0", "1", "0"), fired);
+    }
+
+    @Test
+    public void testFailureFiresRemainingWatchers() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<String> fired = Lists.array();
+
+        watchers.add((s, i, b) -> {
+            throw thrown;
+        });
+        watchers.add((s, i, b) -> fired.add(s + i + b));
+
+        this.checkEquals(
+            thrown,
+            assertThrows(
+                RuntimeException.class,
+                () -> watchers.accept("a", 1, true)
+            )
+        );
+        this.checkEquals(Lists.of("a1true"), fired);
+    }
+
+    @Test
+    public void testAcceptDuringFire() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s, i, b) -> {
+            if (1 == i) {
+                watchers.accept("b", 2, false);
+            }
+        });
+        watchers.add((s, i, b) -> fired.add(s + i + b));
+
+        watchers.accept("a", 1, true);
+
+        this.checkEquals(Lists.of("b2false", "a1true"), fired);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TriWatchers<String, Integer, Boolean> watchers = TriWatchers.create();
+        watchers.add(this.watcher("watcher1"));
+        watchers.addOnce(this.watcher("watcher2"));
+
+        this.toStringAndCheck(watchers, "[watcher1, watcher2]");
+    }
+
+    private TriConsumer<String, Integer, Boolean> watcher(final String toString) {
+        return new TriConsumer<>() {
+            @Override
+            public void accept(final String s,
+                               final Integer i,
+                               final Boolean b) {
+            }
+
+            @Override
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    @Override
+    public Class<TriWatchers<?, ?, ?>> type() {
+        return Cast.to(TriWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class TypedWatchersTest implements ClassTesting2<TypedWatchers<?>>,
+    ToStringTesting<TypedWatchers<?>> {
+
+    @Test
+    public void testAddNullTypeFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TypedWatchers.<Number>create()
+                .add(null, (n) -> {
+                })
+        );
+    }
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TypedWatchers.<Number>create()
+                .add(Integer.class, null)
+        );
+    }
+
+    @Test
+    public void testAddInterfaceFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TypedWatchers.<Object>create()
+                .add(CharSequence.class, (c) -> {
+                })
+        );
+    }
+
+    @Test
+    public void testAcceptNullSourceFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> TypedWatchers.create()
+                .accept(null)
+        );
+    }
+
+    @Test
+    public void testAddAndFire() {
+        final TypedWatchers<Number> watchers = TypedWatchers.create();
+
+        final List<Object> fired = Lists.array();
+
+        watchers.add(Integer.class, (i) -> fired.add("Integer " + i));
+        watchers.add(Long.class, (l) -> fired.add("Long " + l));
+
+        watchers.accept(1);
+        watchers.accept(2L);
+        watchers.accept(3.5);
+
+        this.checkEquals(
+            Lists.of(
+                "Integer 1",
+                "Long 2"
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testSuperClassWatchersFiredInOrderAdded() {
+        final TypedWatchers<Object> watchers = TypedWatchers.create();
+
+        final List<Object> fired = Lists.array();
+
+        watchers.add(Number.class, (n) -> fired.add("Number " + n));
+        watchers.add(Integer.class, (i) -> fired.add("Integer " + i));
+        watchers.add(Object.class, (o) -> fired.add("Object " + o));
+        watchers.add(String.class, (s) -> fired.add("String " + s));
+
+        watchers.accept(1);
+        watchers.accept(2);
+
+        this.checkEquals(
+            Lists.of(
+                "Number 1",
+                "Integer 1",
+                "Object 1",
+                "Number 2",
+                "Integer 2",
+                "Object 2"
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddAfterFireClearsCache() {
+        final TypedWatchers<Number> watchers = TypedWatchers.create();
+
+        final List<Object> fired = Lists.array();
+
+        watchers.add(Integer.class, (i) -> fired.add("Integer " + i));
+        watchers.accept(1);
+
+        watchers.add(Number.class, (n) -> fired.add("Number " + n));
+        watchers.accept(2);
+
+        this.checkEquals(
+            Lists.of(
+                "Integer 1",
+                "Integer 2",
+                "Number 2"
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testRemove() {
+        final TypedWatchers<Number> watchers = TypedWatchers.create();
+
+        final List<Object> fired = Lists.array();
+
+        final Runnable remover = watchers.add(Integer.class, (i) -> fired.add("Integer " + i));
+        watchers.add(Number.class, (n) -> fired.add("Number " + n));
+
+        watchers.accept(1);
+
+        remover.run();
+        remover.run();
+
+        watchers.accept(2);
+
+        this.checkEquals(
+            Lists.of(
+                "Integer 1",
+                "Number 1",
+                "Number 2"
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testRemoveDuringFire() {
+        final TypedWatchers<Number> watchers = TypedWatchers.create();
+
+        final List<Object> fired = Lists.array();
+        final Runnable[] remover = new Runnable[1];
+
+        watchers.add(Number.class, (n) -> remover[0].run());
+        remover[0] = watchers.add(Integer.class, (i) -> fired.add("Integer " + i));
+
+        watchers.accept(1);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final TypedWatchers<Number> watchers = TypedWatchers.create();
+        watchers.add(
+            Integer.class,
+            new Consumer<>() {
+                @Override
+                public void accept(final Integer i) {
+                }
+
+                @Override
+                public String toString() {
+                    return "watcher1";
+                }
+            }
+        );
+
+        this.toStringAndCheck(watchers, "[java.lang.Integer watcher1]");
+    }
+
+    @Override
+    public Class<TypedWatchers<?>> type() {
+        return Cast.to(TypedWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
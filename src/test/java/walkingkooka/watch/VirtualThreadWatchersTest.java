@@ -0,0 +1,354 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class VirtualThreadWatchersTest implements ClassTesting2<VirtualThreadWatchers> {
+
+    private final static String SOURCE = "Source1A";
+
+    @Test
+    public void testFanOutInvalidConcurrencyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> VirtualThreadWatchers.fanOut(
+                0,
+                (e) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testFanOutNullErrorHandlerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> VirtualThreadWatchers.fanOut(
+                1,
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testFanOutAndWaitInvalidConcurrencyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> VirtualThreadWatchers.fanOutAndWait(-1)
+        );
+    }
+
+    @Test
+    public void testFanOutRunsWatchersConcurrently() throws Exception {
+        final int count = 4;
+        final CountDownLatch running = new CountDownLatch(count);
+        final CountDownLatch done = new CountDownLatch(count);
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOut(
+            count,
+            (e) -> {
+            }
+        );
+
+        for (int i = 0; i < count; i++) {
+            watchers.add(
+                (s) -> {
+                    running.countDown();
+                    try {
+                        // only completes if every watcher is running at the same time
+                        if (running.await(5, TimeUnit.SECONDS)) {
+                            done.countDown();
+                        }
+                    } catch (final InterruptedException cause) {
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            );
+        }
+
+        watchers.accept(SOURCE);
+
+        this.checkEquals(
+            true,
+            done.await(5, TimeUnit.SECONDS),
+            "all watchers completed"
+        );
+    }
+
+    @Test
+    public void testFanOutConcurrencyLimitsThreads() throws Exception {
+        final int concurrency = 2;
+        final int count = 100;
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(count);
+        final AtomicInteger started = new AtomicInteger();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOut(
+            concurrency,
+            (e) -> {
+            }
+        );
+        for (int i = 0; i < count; i++) {
+            watchers.add(
+                (s) -> {
+                    started.incrementAndGet();
+                    threads.add(Thread.currentThread());
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException cause) {
+                        throw new IllegalStateException(cause);
+                    }
+                    done.countDown();
+                }
+            );
+        }
+
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final int threadCount = threadMXBean.getThreadCount();
+
+        watchers.accept(SOURCE);
+        Thread.sleep(200);
+
+        final int created = threadMXBean.getThreadCount() - threadCount;
+        final int startedBeforeRelease = started.get();
+        release.countDown();
+
+        this.checkEquals(
+            true,
+            created <= concurrency,
+            "threads created " + created
+        );
+        this.checkEquals(concurrency, startedBeforeRelease, "started before release");
+        this.checkEquals(
+            true,
+            done.await(5, TimeUnit.SECONDS),
+            "all watchers completed"
+        );
+        this.checkEquals(
+            true,
+            threads.size() <= concurrency,
+            "threads used " + threads.size()
+        );
+    }
+
+    @Test
+    public void testFanOutFailureGivenToErrorHandler() throws Exception {
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<RuntimeException> failures = Lists.copyOnWrite();
+        final CountDownLatch failed = new CountDownLatch(1);
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOut(
+            1,
+            (e) -> {
+                failures.add(e);
+                failed.countDown();
+            }
+        );
+        watchers.add(
+            (s) -> {
+                throw thrown;
+            }
+        );
+
+        watchers.accept(SOURCE);
+
+        failed.await(5, TimeUnit.SECONDS);
+        this.checkEquals(Lists.of(thrown), failures);
+    }
+
+    @Test
+    public void testFanOutAndWait() {
+        final List<String> fired = Lists.copyOnWrite();
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOutAndWait(2);
+        watchers.add(fired::add);
+        watchers.add(fired::add);
+        watchers.addOnce(fired::add);
+
+        watchers.accept(SOURCE);
+
+        this.checkEquals(Lists.of(SOURCE, SOURCE, SOURCE), fired);
+    }
+
+    @Test
+    public void testFanOutAndWaitWithoutWatchers() {
+        VirtualThreadWatchers.<String>fanOutAndWait(1)
+            .accept(SOURCE);
+    }
+
+    @Test
+    public void testFanOutAndWaitConcurrencyLimit() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOutAndWait(2);
+        for (int i = 0; i < 8; i++) {
+            watchers.add(
+                (s) -> {
+                    max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (final InterruptedException cause) {
+                        throw new IllegalStateException(cause);
+                    }
+                    running.decrementAndGet();
+                }
+            );
+        }
+
+        watchers.accept(SOURCE);
+
+        this.checkEquals(
+            true,
+            max.get() <= 2,
+            "max concurrent " + max.get()
+        );
+    }
+
+    @Test
+    public void testFanOutAndWaitConcurrencyLimitsThreads() {
+        final int concurrency = 2;
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOutAndWait(concurrency);
+        for (int i = 0; i < 20; i++) {
+            watchers.add(
+                (s) -> {
+                    threads.add(Thread.currentThread());
+                    try {
+                        Thread.sleep(5);
+                    } catch (final InterruptedException cause) {
+                        throw new IllegalStateException(cause);
+                    }
+                }
+            );
+        }
+
+        watchers.accept(SOURCE);
+
+        this.checkEquals(
+            true,
+            threads.size() <= concurrency,
+            "threads used " + threads.size()
+        );
+    }
+
+    @Test
+    public void testFanOutAndWaitWatcherFiringAgain() throws Exception {
+        final AtomicInteger fired = new AtomicInteger();
+        final List<Watchers<String>> watchers = Lists.array();
+
+        watchers.add(VirtualThreadWatchers.fanOutAndWait(1));
+        watchers.get(0)
+            .add(
+                (s) -> {
+                    // the only worker is running this watcher, and waits for the watchers to be fired again
+                    if (fired.incrementAndGet() < 3) {
+                        watchers.get(0)
+                            .accept(s);
+                    }
+                }
+            );
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread thread = new Thread(
+            () -> {
+                watchers.get(0)
+                    .accept(SOURCE);
+                done.countDown();
+            }
+        );
+        thread.setDaemon(true);
+        thread.start();
+
+        this.checkEquals(
+            true,
+            done.await(5, TimeUnit.SECONDS),
+            "fire completed"
+        );
+        this.checkEquals(
+            3,
+            fired.get(),
+            "fired"
+        );
+    }
+
+    @Test
+    public void testFanOutAndWaitFailuresAggregated() {
+        final RuntimeException first = new RuntimeException("first");
+        final RuntimeException second = new RuntimeException("second");
+        final AtomicInteger counter = new AtomicInteger();
+
+        final Watchers<String> watchers = VirtualThreadWatchers.fanOutAndWait(4);
+        watchers.add(
+            (s) -> {
+                throw first;
+            }
+        );
+        watchers.add(
+            (s) -> {
+                throw second;
+            }
+        );
+        watchers.add(
+            (s) -> counter.incrementAndGet()
+        );
+
+        assertSame(
+            first,
+            assertThrows(
+                RuntimeException.class,
+                () -> watchers.accept(SOURCE)
+            )
+        );
+        assertArrayEquals(
+            new Throwable[]{
+                second
+            },
+            first.getSuppressed()
+        );
+        this.checkEquals(1, counter.get());
+    }
+
+    @Override
+    public Class<VirtualThreadWatchers> type() {
+        return VirtualThreadWatchers.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
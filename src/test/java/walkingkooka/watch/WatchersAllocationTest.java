@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.test.Testing;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the bytes allocated by the current thread while repeating a steady state operation, failing if the
+ * operation allocates. Each operation is first repeated enough times to be compiled, then measured over
+ * {@link #COUNT} repetitions, so an allocation per operation of even a few bytes exceeds {@link #BUDGET}.
+ */
+public final class WatchersAllocationTest implements Testing {
+
+    private final static int WARMUP = 50_000;
+
+    private final static int COUNT = 10_000;
+
+    /**
+     * Allows for a little allocation by the measurement itself, which is far less than {@link #COUNT} times the
+     * smallest object.
+     */
+    private final static long BUDGET = 4 * 1024;
+
+    private final static String SOURCE = "Source1A";
+
+    @Test
+    public void testAcceptNoWatchers() {
+        final Watchers<String> watchers = Watchers.create();
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(SOURCE),
+            "accept no watchers"
+        );
+    }
+
+    @Test
+    public void testAcceptOneWatcher() {
+        this.acceptAndCheck(1);
+    }
+
+    @Test
+    public void testAcceptSeveralWatchers() {
+        this.acceptAndCheck(10);
+    }
+
+    @Test
+    public void testAcceptManyWatchers() {
+        this.acceptAndCheck(1000);
+    }
+
+    private void acceptAndCheck(final int watcherCount) {
+        final Watchers<String> watchers = Watchers.create();
+        final Consumer<String> watcher = this::watcher;
+
+        for (int i = 0; i < watcherCount; i++) {
+            watchers.add(watcher);
+        }
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(SOURCE),
+            "accept " + watcherCount + " watchers"
+        );
+        this.checkEquals(
+            (long) (WARMUP + COUNT) * watcherCount,
+            this.fired,
+            "fired"
+        );
+    }
+
+    private void watcher(final String event) {
+        this.fired++;
+    }
+
+    private long fired;
+
+    @Test
+    public void testIntWatchersAccept() {
+        final IntWatchers watchers = IntWatchers.create();
+        for (int i = 0; i < 10; i++) {
+            watchers.add((v) -> this.fired += v);
+        }
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(1),
+            "IntWatchers.accept"
+        );
+    }
+
+    @Test
+    public void testLongWatchersAccept() {
+        final LongWatchers watchers = LongWatchers.create();
+        for (int i = 0; i < 10; i++) {
+            watchers.add((v) -> this.fired += v);
+        }
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(Long.MAX_VALUE),
+            "LongWatchers.accept"
+        );
+    }
+
+    @Test
+    public void testDoubleWatchersAccept() {
+        final DoubleWatchers watchers = DoubleWatchers.create();
+        for (int i = 0; i < 10; i++) {
+            watchers.add((v) -> this.fired++);
+        }
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(1.5),
+            "DoubleWatchers.accept"
+        );
+    }
+
+    @Test
+    public void testBiWatchersAccept() {
+        final BiWatchers<String, String> watchers = BiWatchers.create();
+        for (int i = 0; i < 10; i++) {
+            watchers.add((a, b) -> this.fired++);
+        }
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(SOURCE, SOURCE),
+            "BiWatchers.accept"
+        );
+    }
+
+    @Test
+    public void testTriWatchersAccept() {
+        final TriWatchers<String, String, String> watchers = TriWatchers.create();
+        for (int i = 0; i < 10; i++) {
+            watchers.add((a, b, c) -> this.fired++);
+        }
+
+        this.allocatedAndCheck(
+            () -> watchers.accept(SOURCE, SOURCE, SOURCE),
+            "TriWatchers.accept"
+        );
+    }
+
+    @Test
+    public void testRunnableCollectionRun() {
+        final Runnable runnable = RunnableCollection.with(
+            Lists.of(
+                this::run,
+                this::run,
+                this::run
+            )
+        );
+
+        this.allocatedAndCheck(
+            runnable,
+            "RunnableCollection.run"
+        );
+    }
+
+    private void run() {
+        this.fired++;
+    }
+
+    @Test
+    public void testAllocatedAndCheckFails() {
+        assertThrows(
+            AssertionError.class,
+            () -> this.allocatedAndCheck(
+                () -> this.allocated = Lists.array(),
+                "allocates"
+            )
+        );
+    }
+
+    private Object allocated;
+
+    private void allocatedAndCheck(final Runnable operation,
+                                   final String label) {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(
+            threads.isThreadAllocatedMemorySupported(),
+            "Thread allocated memory not supported"
+        );
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < COUNT; i++) {
+            operation.run();
+        }
+
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        if (allocated > BUDGET) {
+            throw new AssertionError(label + " allocated " + allocated + " bytes for " + COUNT + " operations, budget " + BUDGET);
+        }
+    }
+}
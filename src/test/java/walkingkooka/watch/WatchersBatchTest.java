@@ -0,0 +1,244 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersBatchTest implements ClassTesting2<WatchersBatch>,
+    ToStringTesting<WatchersBatch> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+    private final static String SOURCE3C = "Source3C";
+
+    @Test
+    public void testBatchedNullBatchFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.batched(null)
+        );
+    }
+
+    @Test
+    public void testBatchedNullMergerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.batched(WatchersBatch.create(), null)
+        );
+    }
+
+    @Test
+    public void testRunNullTaskFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersBatch.create().run(null)
+        );
+    }
+
+    @Test
+    public void testCloseNotOpenFails() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> WatchersBatch.create().close()
+        );
+    }
+
+    @Test
+    public void testClosedFiresImmediately() {
+        final Watchers<String> watchers = Watchers.batched(WatchersBatch.create());
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testRunFiresLastEvent() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers = Watchers.batched(batch);
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        batch.run(() -> {
+            watchers.accept(SOURCE1A);
+            watchers.accept(SOURCE2B);
+            watchers.accept(SOURCE3C);
+
+            this.checkEquals(Lists.empty(), fired, "deferred");
+            this.checkEquals(true, batch.isOpen(), "isOpen");
+        });
+
+        this.checkEquals(Lists.of(SOURCE3C), fired);
+        this.checkEquals(false, batch.isOpen(), "isOpen");
+    }
+
+    @Test
+    public void testTryWithResourcesMerged() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers = Watchers.batched(
+            batch,
+            (first, second) -> first + "+" + second
+        );
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        try (final WatchersBatch scope = batch.open()) {
+            watchers.accept(SOURCE1A);
+            watchers.accept(SOURCE2B);
+            watchers.accept(SOURCE3C);
+        }
+
+        this.checkEquals(Lists.of(SOURCE1A + "+" + SOURCE2B + "+" + SOURCE3C), fired);
+    }
+
+    @Test
+    public void testNestedDeliveredByOutermost() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers = Watchers.batched(batch);
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        batch.run(() -> {
+            batch.run(() -> watchers.accept(SOURCE1A));
+            this.checkEquals(Lists.empty(), fired, "inner close");
+
+            watchers.accept(SOURCE2B);
+        });
+
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+    }
+
+    @Test
+    public void testSeveralWatchersFiredInOrderOfFirstEvent() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers1 = Watchers.batched(batch);
+        final Watchers<String> watchers2 = Watchers.batched(batch);
+        final Watchers<String> unbatched = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers1.add((e) -> fired.add("1 " + e));
+        watchers2.add((e) -> fired.add("2 " + e));
+        unbatched.add((e) -> fired.add("unbatched " + e));
+
+        batch.run(() -> {
+            watchers2.accept(SOURCE1A);
+            unbatched.accept(SOURCE1A);
+            watchers1.accept(SOURCE2B);
+            watchers2.accept(SOURCE3C);
+        });
+
+        this.checkEquals(
+            Lists.of(
+                "unbatched " + SOURCE1A,
+                "2 " + SOURCE3C,
+                "1 " + SOURCE2B
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testBatchAgain() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers = Watchers.batched(batch);
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        batch.run(() -> watchers.accept(SOURCE1A));
+        batch.run(() -> watchers.accept(SOURCE2B));
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testFailuresThrownAfterAllDelivered() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers1 = Watchers.batched(batch);
+        final Watchers<String> watchers2 = Watchers.batched(batch);
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<String> fired = Lists.array();
+        watchers1.add((e) -> {
+            throw thrown;
+        });
+        watchers2.add(fired::add);
+
+        this.checkEquals(
+            thrown,
+            assertThrows(
+                RuntimeException.class,
+                () -> batch.run(() -> {
+                    watchers1.accept(SOURCE1A);
+                    watchers2.accept(SOURCE2B);
+                })
+            )
+        );
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+        this.checkEquals(false, batch.isOpen(), "isOpen");
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToStringClosed() {
+        this.toStringAndCheck(
+            WatchersBatch.create(),
+            "closed"
+        );
+    }
+
+    @Test
+    public void testToStringOpen() {
+        final WatchersBatch batch = WatchersBatch.create();
+        final Watchers<String> watchers = Watchers.batched(batch);
+
+        batch.open();
+        watchers.accept(SOURCE1A);
+
+        this.toStringAndCheck(
+            batch,
+            "open 1 pending"
+        );
+    }
+
+    @Override
+    public Class<WatchersBatch> type() {
+        return WatchersBatch.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
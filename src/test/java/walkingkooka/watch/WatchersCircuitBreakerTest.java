@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersCircuitBreakerTest implements ClassTesting2<WatchersCircuitBreaker>,
+    ToStringTesting<WatchersCircuitBreaker> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+    private final static String SOURCE3C = "Source3C";
+    private final static String FAIL = "Fail!";
+
+    @Test
+    public void testWithZeroThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WatchersCircuitBreaker.with(0)
+        );
+    }
+
+    @Test
+    public void testWithNegativeThresholdFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WatchersCircuitBreaker.with(-1)
+        );
+    }
+
+    @Test
+    public void testWatcherNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersCircuitBreaker.with(1).watcher(null)
+        );
+    }
+
+    @Test
+    public void testSuspendedAfterConsecutiveFailures() {
+        final WatchersCircuitBreaker breaker = WatchersCircuitBreaker.with(2);
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(breaker.watcher(this.watcher(fired)));
+
+        this.acceptAndCheckFails(watchers);
+        this.acceptAndCheckFails(watchers);
+
+        watchers.accept(FAIL);
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(FAIL, FAIL), fired);
+    }
+
+    @Test
+    public void testSuccessClearsFailures() {
+        final WatchersCircuitBreaker breaker = WatchersCircuitBreaker.with(2);
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(breaker.watcher(this.watcher(fired)));
+
+        this.acceptAndCheckFails(watchers);
+        watchers.accept(SOURCE1A);
+        this.acceptAndCheckFails(watchers);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(FAIL, SOURCE1A, FAIL, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testSuspendedWatcherDoesNotAffectOthers() {
+        final WatchersCircuitBreaker breaker = WatchersCircuitBreaker.with(1);
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+        watchers.add(breaker.watcher(this.watcher(fired1)));
+        watchers.add(breaker.watcher(this.watcher(fired2)));
+
+        this.acceptAndCheckFails(watchers);
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(FAIL), fired1);
+        this.checkEquals(Lists.of(FAIL), fired2);
+    }
+
+    @Test
+    public void testReset() {
+        final WatchersCircuitBreaker breaker = WatchersCircuitBreaker.with(1);
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(breaker.watcher(this.watcher(fired)));
+
+        this.acceptAndCheckFails(watchers);
+        watchers.accept(SOURCE1A);
+
+        breaker.reset();
+
+        watchers.accept(SOURCE2B);
+        this.acceptAndCheckFails(watchers);
+        watchers.accept(SOURCE3C);
+
+        this.checkEquals(Lists.of(FAIL, SOURCE2B, FAIL), fired);
+    }
+
+    private void acceptAndCheckFails(final Watchers<String> watchers) {
+        assertThrows(
+            IllegalStateException.class,
+            () -> watchers.accept(FAIL)
+        );
+    }
+
+    /**
+     * A watcher that records every event and fails for {@link #FAIL}.
+     */
+    private Consumer<String> watcher(final List<String> fired) {
+        return (e) -> {
+            fired.add(e);
+            if (FAIL.equals(e)) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            WatchersCircuitBreaker.with(3),
+            "failureThreshold=3"
+        );
+    }
+
+    @Override
+    public Class<WatchersCircuitBreaker> type() {
+        return WatchersCircuitBreaker.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import walkingkooka.test.Testing;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the heap used by each {@link Watchers} in its common states, as the bytes allocated by the current thread
+ * while creating and preparing {@link #COUNT} instances divided by {@link #COUNT}. The budgets assume compressed object
+ * pointers, the default for heaps under 32GB, and include each registration, which is also the {@link Runnable}
+ * returned by an add. A {@link Watchers} that returns to a smaller state is measured by the heap it retains, as the
+ * growth of the heap after a full collection while holding the prepared instances, which is only reported exactly by
+ * the G1 collector.
+ */
+public final class WatchersFootprintTest implements Testing {
+
+    private final static int COUNT = 10_000;
+
+    /**
+     * Enough instances that the few kilobytes a full collection may leave or free elsewhere are far less than a byte
+     * per instance.
+     */
+    private final static int RETAINED_COUNT = 100_000;
+
+    private final static String SOURCE = "Source1A";
+
+    private final static Consumer<String> WATCHER = (e) -> {
+    };
+
+    @Test
+    public void testEmpty() {
+        this.footprintAndCheck(
+            Watchers::create,
+            "empty",
+            24
+        );
+    }
+
+    @Test
+    public void testEmptyFired() {
+        this.footprintAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                watchers.accept(SOURCE);
+                return watchers;
+            },
+            "empty fired",
+            24
+        );
+    }
+
+    @Test
+    public void testSingle() {
+        this.footprintAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                watchers.add(WATCHER);
+                return watchers;
+            },
+            "single",
+            24 + 32
+        );
+    }
+
+    @Test
+    public void testSingleFired() {
+        this.footprintAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                watchers.add(WATCHER);
+                watchers.accept(SOURCE);
+                return watchers;
+            },
+            "single fired",
+            24 + 32
+        );
+    }
+
+    @Test
+    public void testSingleOnceFired() {
+        this.footprintAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                watchers.addOnce(WATCHER);
+                watchers.accept(SOURCE);
+                return watchers;
+            },
+            "single once fired",
+            24 + 48 + 48
+        );
+    }
+
+    @Test
+    public void testSeveralFired() {
+        this.footprintAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                for (int i = 0; i < 10; i++) {
+                    watchers.add(WATCHER);
+                }
+                watchers.accept(SOURCE);
+                return watchers;
+            },
+            "several fired",
+            24 + 32 + 48 + 10 * 48 + 56
+        );
+    }
+
+    @Test
+    public void testAddedThenRemoved() {
+        this.retainedAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                final Runnable remover1 = watchers.add(WATCHER);
+                final Runnable remover2 = watchers.add(WATCHER);
+                watchers.accept(SOURCE);
+                remover1.run();
+                remover2.run();
+                return watchers;
+            },
+            "added then removed",
+            24
+        );
+    }
+
+    @Test
+    public void testOnceFired() {
+        this.retainedAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                watchers.addOnce(WATCHER);
+                watchers.addOnce(WATCHER);
+                watchers.accept(SOURCE);
+                return watchers;
+            },
+            "once fired",
+            24
+        );
+    }
+
+    @Test
+    public void testSeveralRemovedToSingle() {
+        this.retainedAndCheck(
+            () -> {
+                final Watchers<String> watchers = Watchers.create();
+                watchers.add(WATCHER);
+
+                final Runnable[] removers = new Runnable[9];
+                for (int i = 0; i < 9; i++) {
+                    removers[i] = watchers.add(WATCHER);
+                }
+                watchers.accept(SOURCE);
+                for (final Runnable remover : removers) {
+                    remover.run();
+                }
+                return watchers;
+            },
+            "several removed to single",
+            24 + 32 + 48
+        );
+    }
+
+    private void footprintAndCheck(final Supplier<Watchers<String>> factory,
+                                   final String label,
+                                   final long budget) {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(
+            threads.isThreadAllocatedMemorySupported(),
+            "Thread allocated memory not supported"
+        );
+        this.compressedOopsCheck();
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // retain every instance so none are optimised away, the array itself is allocated before measuring
+        final Object[] instances = new Object[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            instances[i] = factory.get();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < COUNT; i++) {
+            instances[i] = factory.get();
+        }
+
+        final long perInstance = (threads.getThreadAllocatedBytes(threadId) - before) / COUNT;
+
+        if (perInstance > budget) {
+            throw new AssertionError(label + " allocated " + perInstance + " bytes per instance, budget " + budget);
+        }
+    }
+
+    /**
+     * Measures several times keeping the smallest, as other threads and the first full collections may add to the heap.
+     */
+    private void retainedAndCheck(final Supplier<Watchers<String>> factory,
+                                  final String label,
+                                  final long budget) {
+        this.compressedOopsCheck();
+        assumeTrue(
+            ManagementFactory.getGarbageCollectorMXBeans()
+                .stream()
+                .anyMatch(c -> c.getName().startsWith("G1")),
+            "G1 collector not used"
+        );
+
+        long perInstance = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            perInstance = Math.min(
+                perInstance,
+                this.retained(factory)
+            );
+        }
+
+        if (perInstance > budget) {
+            throw new AssertionError(label + " retained " + perInstance + " bytes per instance, budget " + budget);
+        }
+    }
+
+    private void compressedOopsCheck() {
+        assumeTrue(
+            "true".equals(
+                ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                    .getVMOption("UseCompressedOops")
+                    .getValue()
+            ),
+            "Compressed oops not enabled"
+        );
+    }
+
+    private long retained(final Supplier<Watchers<String>> factory) {
+        final Object[] instances = new Object[RETAINED_COUNT];
+        final long before = heapUsedAfterCollection();
+
+        for (int i = 0; i < RETAINED_COUNT; i++) {
+            instances[i] = factory.get();
+        }
+
+        final long after = heapUsedAfterCollection();
+        Reference.reachabilityFence(instances);
+
+        return (after - before) / RETAINED_COUNT;
+    }
+
+    private static long heapUsedAfterCollection() {
+        System.gc();
+        System.gc();
+
+        long used = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (MemoryType.HEAP == pool.getType()) {
+                used += pool.getUsage()
+                    .getUsed();
+            }
+        }
+        return used;
+    }
+}
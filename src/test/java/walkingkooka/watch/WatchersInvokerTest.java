@@ -21,11 +21,11 @@ import walkingkooka.Cast;
 import walkingkooka.reflect.ClassTesting;
 import walkingkooka.reflect.JavaVisibility;
 
-public final class WatchersOnceConsumerTest implements ClassTesting<WatchersOnceConsumer<?>> {
+public final class WatchersInvokerTest implements ClassTesting<WatchersInvoker<?, ?>> {
 
     @Override
-    public Class<WatchersOnceConsumer<?>> type() {
-        return Cast.to(WatchersOnceConsumer.class);
+    public Class<WatchersInvoker<?, ?>> type() {
+        return Cast.to(WatchersInvoker.class);
     }
 
     @Override
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersMetricsTest implements ClassTesting2<WatchersMetrics>,
+    ToStringTesting<WatchersMetrics> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+
+    @Test
+    public void testMetricsNullSinkFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.metrics(null, this.clock())
+        );
+    }
+
+    @Test
+    public void testMetricsNullClockFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.metrics(WatchersMetrics.create(), null)
+        );
+    }
+
+    @Test
+    public void testMetricsNoneNeverReadsClock() {
+        final Watchers<String> watchers = Watchers.metrics(
+            WatchersMetricsSink.none(),
+            () -> {
+                throw new UnsupportedOperationException();
+            }
+        );
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    @Test
+    public void testHistogramNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersMetrics.create().histogram(null)
+        );
+    }
+
+    // dispatched.......................................................................................................
+
+    @Test
+    public void testDispatched() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        watchers.add(this.watcher("watcher1", 5));
+        watchers.addOnce(this.watcher("watcher2", 20));
+        watchers.accept(SOURCE1A);
+
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(2L, metrics.fired(), "fired");
+        this.checkEquals(1, metrics.persistentCount(), "persistentCount");
+        this.checkEquals(0, metrics.onceCount(), "onceCount");
+        this.checkEquals(5L + 20 + 5, metrics.totalDispatchTime(), "totalDispatchTime");
+        this.checkEquals(25L, metrics.maxDispatchTime(), "maxDispatchTime");
+    }
+
+    @Test
+    public void testDispatchedCounts() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        watchers.add(this.watcher("watcher1", 1));
+        watchers.add(this.watcher("watcher2", 1));
+        watchers.addOnce(this.watcher("watcher3", 1));
+        watchers.addOnce(this.watcher("watcher4", 1)).run();
+        watchers.addOnce(this.watcher("watcher5", 1));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(2, metrics.persistentCount(), "persistentCount");
+        this.checkEquals(2, metrics.onceCount(), "onceCount");
+    }
+
+    @Test
+    public void testDispatchedCountsPredicate() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Predicate<String> predicate = (e) -> true;
+        watchers.add(this.watcher("watcher1", 1));
+        watchers.add(predicate, this.watcher("watcher2", 1));
+        watchers.add(predicate, this.watcher("watcher3", 1));
+        watchers.add(predicate, this.watcher("watcher4", 1));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(4, metrics.persistentCount(), "persistentCount");
+        this.checkEquals(0, metrics.onceCount(), "onceCount");
+    }
+
+    @Test
+    public void testDispatchedWatcherFails() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Consumer<String> watcher = (e) -> {
+            this.time += 7;
+            throw new IllegalStateException();
+        };
+        watchers.add(watcher);
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> watchers.accept(SOURCE1A)
+        );
+
+        this.checkEquals(1L, metrics.fired(), "fired");
+        this.checkEquals(7L, metrics.maxDispatchTime(), "maxDispatchTime");
+        this.checkEquals(Optional.of(watcher), metrics.slowest(), "slowest");
+    }
+
+    // invoked..........................................................................................................
+
+    @Test
+    public void testSlowestNone() {
+        this.checkEquals(
+            Optional.empty(),
+            WatchersMetrics.create().slowest()
+        );
+    }
+
+    @Test
+    public void testSlowest() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        watchers.add(this.watcher("watcher1", 5));
+        final Consumer<String> slow = this.watcher("watcher2", 9);
+        watchers.add(slow);
+        watchers.add(this.watcher("watcher3", 3));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Optional.of(slow), metrics.slowest());
+    }
+
+    @Test
+    public void testHistogram() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Consumer<String> watcher = this.watcher("watcher1", 1);
+
+        metrics.invoked(watcher, 0);
+        metrics.invoked(watcher, 1);
+        metrics.invoked(watcher, 2);
+        metrics.invoked(watcher, 3);
+        metrics.invoked(watcher, 4);
+        metrics.invoked(watcher, Long.MAX_VALUE);
+
+        final long[] expected = new long[WatchersMetrics.HISTOGRAM_BUCKETS];
+        expected[0] = 1;
+        expected[1] = 1;
+        expected[2] = 2;
+        expected[3] = 1;
+        expected[63] = 1;
+
+        this.checkEquals(
+            Arrays.toString(expected),
+            Arrays.toString(metrics.histogram(watcher))
+        );
+    }
+
+    @Test
+    public void testHistogramUnknownWatcher() {
+        this.checkEquals(
+            Arrays.toString(new long[WatchersMetrics.HISTOGRAM_BUCKETS]),
+            Arrays.toString(WatchersMetrics.create().histogram(this.watcher("watcher1", 1)))
+        );
+    }
+
+    @Test
+    public void testBucket() {
+        this.checkEquals(0, WatchersMetrics.bucket(-1), "-1");
+        this.checkEquals(0, WatchersMetrics.bucket(0), "0");
+        this.checkEquals(1, WatchersMetrics.bucket(1), "1");
+        this.checkEquals(11, WatchersMetrics.bucket(1024), "1024");
+        this.checkEquals(63, WatchersMetrics.bucket(Long.MAX_VALUE), "max");
+    }
+
+    // removed..........................................................................................................
+
+    @Test
+    public void testRemovedWatcherReleased() throws Exception {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final WeakReference<Consumer<String>> reference = this.addFireAndRemove(watchers);
+
+        for (int i = 0; i < 100 && null != reference.get(); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        this.checkEquals(null, reference.get(), "removed watcher still reachable");
+        this.checkEquals(Optional.empty(), metrics.slowest());
+    }
+
+    private WeakReference<Consumer<String>> addFireAndRemove(final Watchers<String> watchers) {
+        final Consumer<String> watcher = this.watcher("watcher1", 1);
+        final Runnable remover = watchers.add(watcher);
+        watchers.accept(SOURCE1A);
+        remover.run();
+
+        return new WeakReference<>(watcher);
+    }
+
+    @Test
+    public void testRemovedHistogramAndSlowest() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Consumer<String> fast = this.watcher("watcher1", 1);
+        final Consumer<String> slow = this.watcher("watcher2", 9);
+        watchers.add(fast);
+        final Runnable remover = watchers.add(slow);
+
+        watchers.accept(SOURCE1A);
+        this.checkEquals(Optional.of(slow), metrics.slowest());
+
+        remover.run();
+
+        this.checkEquals(Optional.of(fast), metrics.slowest(), "slowest");
+        this.histogramCountAndCheck(metrics, slow, 0);
+        this.histogramCountAndCheck(metrics, fast, 1);
+    }
+
+    @Test
+    public void testRemovedSameWatcherAddedTwice() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Consumer<String> watcher = this.watcher("watcher1", 1);
+        final Runnable remover1 = watchers.add(watcher);
+        final Runnable remover2 = watchers.add(watcher);
+
+        watchers.accept(SOURCE1A);
+
+        remover1.run();
+        this.histogramCountAndCheck(metrics, watcher, 2);
+
+        remover2.run();
+        this.histogramCountAndCheck(metrics, watcher, 0);
+    }
+
+    @Test
+    public void testRemovedOnceAfterFire() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Consumer<String> watcher = this.watcher("watcher1", 1);
+        watchers.addOnce(watcher);
+
+        watchers.accept(SOURCE1A);
+
+        this.histogramCountAndCheck(metrics, watcher, 0);
+        this.checkEquals(Optional.empty(), metrics.slowest());
+    }
+
+    @Test
+    public void testRemovedRemoveOnce() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Consumer<String> watcher = this.watcher("watcher1", 1);
+        watchers.add(watcher);
+        watchers.addOnce(watcher);
+        watchers.accept(SOURCE1A);
+        watchers.addOnce(watcher);
+
+        watchers.removeOnce();
+        this.histogramCountAndCheck(metrics, watcher, 2);
+    }
+
+    @Test
+    public void testRemovedSelfDuringFire() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        final Watchers<String> watchers = Watchers.metrics(
+            metrics,
+            this.clock()
+        );
+
+        final Runnable[] remover = new Runnable[1];
+        final Consumer<String> watcher = (s) -> remover[0].run();
+        remover[0] = watchers.add(watcher);
+
+        watchers.accept(SOURCE1A);
+
+        this.histogramCountAndCheck(metrics, watcher, 0);
+        this.checkEquals(Optional.empty(), metrics.slowest());
+    }
+
+    private void histogramCountAndCheck(final WatchersMetrics metrics,
+                                        final Consumer<String> watcher,
+                                        final long count) {
+        this.checkEquals(
+            count,
+            Arrays.stream(metrics.histogram(watcher)).sum(),
+            "histogram count " + watcher
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final WatchersMetrics metrics = WatchersMetrics.create();
+        metrics.dispatched(2, 1, 30);
+        metrics.invoked(this.watcher("watcher1", 1), 10);
+        metrics.invoked(this.watcher("watcher2", 1), 20);
+
+        this.toStringAndCheck(
+            metrics,
+            "fired=1 persistent=2 once=1 total=30 max=30 slowest=watcher2 count=1 total=20 max=20"
+        );
+    }
+
+    @Test
+    public void testToStringEmpty() {
+        this.toStringAndCheck(
+            WatchersMetrics.create(),
+            "fired=0 persistent=0 once=0 total=0 max=0"
+        );
+    }
+
+    private LongSupplier clock() {
+        return () -> this.time;
+    }
+
+    private long time;
+
+    /**
+     * A watcher that advances the clock by the given amount each time it is invoked.
+     */
+    private Consumer<String> watcher(final String toString,
+                                     final long time) {
+        return new Consumer<>() {
+            @Override
+            public void accept(final String s) {
+                WatchersMetricsTest.this.time += time;
+            }
+
+            @Override
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    @Override
+    public Class<WatchersMetrics> type() {
+        return WatchersMetrics.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
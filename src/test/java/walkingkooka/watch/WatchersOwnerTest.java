@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersOwnerTest implements ClassTesting2<WatchersOwner>,
+    ToStringTesting<WatchersOwner> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+
+    @Test
+    public void testAddNullWatchersFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersOwner.create().add(null, (e) -> {})
+        );
+    }
+
+    @Test
+    public void testAddNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersOwner.create().add(Watchers.create(), null)
+        );
+    }
+
+    @Test
+    public void testOwnNullRemoverFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersOwner.create().own(null)
+        );
+    }
+
+    @Test
+    public void testAddAndDispose() {
+        final Watchers<String> watchers = Watchers.create();
+        final WatchersOwner owner = WatchersOwner.create();
+
+        final List<String> fired = Lists.array();
+        owner.add(watchers, fired::add);
+        owner.add(watchers, (e) -> fired.add("2-" + e));
+        watchers.add((e) -> fired.add("unowned-" + e));
+
+        watchers.accept(SOURCE1A);
+
+        owner.dispose();
+        this.checkEquals(true, owner.isDisposed(), "isDisposed");
+
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(
+            Lists.of(SOURCE1A, "2-" + SOURCE1A, "unowned-" + SOURCE1A, "unowned-" + SOURCE2B),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddRemoveThenDispose() {
+        final Watchers<String> watchers = Watchers.create();
+        final WatchersOwner owner = WatchersOwner.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover = owner.add(watchers, fired::add);
+        remover.run();
+
+        this.toStringAndCheck(owner, "0 owned");
+
+        owner.dispose();
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testOwnAndDispose() {
+        final KeyedWatchers<String, String> watchers = KeyedWatchers.create();
+        final WatchersOwner owner = WatchersOwner.create();
+
+        final List<String> fired = Lists.array();
+        owner.own(
+            watchers.add("key1", fired::add)
+        );
+
+        owner.dispose();
+        watchers.accept("key1", SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testDisposeRunsAllRemoversWhenOneFails() {
+        final WatchersOwner owner = WatchersOwner.create();
+
+        final List<String> removed = Lists.array();
+        owner.own(() -> {
+            throw new IllegalStateException("fail1");
+        });
+        owner.own(() -> removed.add("2"));
+
+        assertThrows(
+            IllegalStateException.class,
+            owner::dispose
+        );
+
+        this.checkEquals(Lists.of("2"), removed);
+    }
+
+    @Test
+    public void testDisposeTwice() {
+        final WatchersOwner owner = WatchersOwner.create();
+        owner.dispose();
+        owner.dispose();
+
+        this.checkEquals(true, owner.isDisposed(), "isDisposed");
+    }
+
+    @Test
+    public void testAddAfterDisposeFails() {
+        final WatchersOwner owner = WatchersOwner.create();
+        owner.dispose();
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> owner.add(Watchers.create(), (e) -> {})
+        );
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final WatchersOwner owner = WatchersOwner.create();
+        owner.add(Watchers.create(), (e) -> {});
+        owner.add(Watchers.create(), (e) -> {});
+
+        this.toStringAndCheck(owner, "2 owned");
+    }
+
+    @Test
+    public void testToStringDisposed() {
+        final WatchersOwner owner = WatchersOwner.create();
+        owner.dispose();
+
+        this.toStringAndCheck(owner, "disposed");
+    }
+
+    @Override
+    public Class<WatchersOwner> type() {
+        return WatchersOwner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersSerialExecutorTest implements ClassTesting2<WatchersSerialExecutor> {
+
+    @Test
+    public void testWithNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersSerialExecutor.with(
+                null,
+                (e) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testWithNullErrorHandlerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersSerialExecutor.with(
+                (r) -> {
+                },
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testExecuteSchedulesOnceAndRunsInOrder() {
+        final List<Runnable> scheduled = Lists.array();
+        final List<String> ran = Lists.array();
+
+        final WatchersSerialExecutor executor = WatchersSerialExecutor.with(
+            scheduled::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        executor.execute(() -> ran.add("1"));
+        executor.execute(() -> ran.add("2"));
+        executor.execute(() -> ran.add("3"));
+
+        this.checkEquals(1, scheduled.size(), "scheduled");
+        this.checkEquals(Lists.empty(), ran);
+
+        scheduled.get(0).run();
+
+        this.checkEquals(Lists.of("1", "2", "3"), ran);
+    }
+
+    @Test
+    public void testExecuteAfterDrainSchedulesAgain() {
+        final List<Runnable> scheduled = Lists.array();
+        final List<String> ran = Lists.array();
+
+        final WatchersSerialExecutor executor = WatchersSerialExecutor.with(
+            scheduled::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        executor.execute(() -> ran.add("1"));
+        scheduled.get(0).run();
+
+        executor.execute(() -> ran.add("2"));
+        this.checkEquals(2, scheduled.size(), "scheduled");
+
+        scheduled.get(1).run();
+
+        this.checkEquals(Lists.of("1", "2"), ran);
+    }
+
+    @Test
+    public void testFailureGivenToErrorHandlerAndContinues() {
+        final List<Runnable> scheduled = Lists.array();
+        final List<String> ran = Lists.array();
+        final List<RuntimeException> failures = Lists.array();
+
+        final WatchersSerialExecutor executor = WatchersSerialExecutor.with(
+            scheduled::add,
+            failures::add
+        );
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+
+        executor.execute(() -> {
+            throw thrown;
+        });
+        executor.execute(() -> ran.add("2"));
+
+        scheduled.get(0).run();
+
+        this.checkEquals(Lists.of(thrown), failures);
+        this.checkEquals(Lists.of("2"), ran);
+    }
+
+    @Test
+    public void testErrorHandlerThrowsSchedulesRemainingTasks() {
+        final List<Runnable> scheduled = Lists.array();
+        final List<String> ran = Lists.array();
+
+        final WatchersSerialExecutor executor = WatchersSerialExecutor.with(
+            scheduled::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+
+        executor.execute(() -> {
+            throw thrown;
+        });
+        executor.execute(() -> ran.add("2"));
+
+        assertSame(
+            thrown,
+            assertThrows(
+                RuntimeException.class,
+                () -> scheduled.get(0).run()
+            )
+        );
+        this.checkEquals(2, scheduled.size(), "scheduled");
+
+        scheduled.get(1).run();
+        this.checkEquals(Lists.of("2"), ran);
+
+        executor.execute(() -> ran.add("3"));
+        this.checkEquals(3, scheduled.size(), "scheduled");
+
+        scheduled.get(2).run();
+        this.checkEquals(Lists.of("2", "3"), ran);
+    }
+
+    @Test
+    public void testErrorHandlerThrowsLastTask() {
+        final List<Runnable> scheduled = Lists.array();
+        final List<String> ran = Lists.array();
+
+        final WatchersSerialExecutor executor = WatchersSerialExecutor.with(
+            scheduled::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        executor.execute(() -> {
+            throw new RuntimeException("fail!");
+        });
+
+        assertThrows(
+            RuntimeException.class,
+            () -> scheduled.get(0).run()
+        );
+        this.checkEquals(1, scheduled.size(), "nothing remaining to schedule");
+
+        executor.execute(() -> ran.add("2"));
+        this.checkEquals(2, scheduled.size(), "scheduled");
+
+        scheduled.get(1).run();
+        this.checkEquals(Lists.of("2"), ran);
+    }
+
+    @Override
+    public Class<WatchersSerialExecutor> type() {
+        return WatchersSerialExecutor.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class WatchersSingleRemovingRunnableTest implements ClassTesting2<WatchersSingleRemovingRunnable<?>>,
+    ToStringTesting<WatchersSingleRemovingRunnable<?>> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+
+    @Test
+    public void testAddFirstWatcher() {
+        final Watchers<String> watchers = Watchers.create();
+        final Runnable remover = watchers.add(this.watcher());
+
+        this.checkEquals(
+            WatchersSingleRemovingRunnable.class,
+            remover.getClass()
+        );
+    }
+
+    @Test
+    public void testIsActive() {
+        final Watchers<String> watchers = Watchers.create();
+        final WatchersSingleRemovingRunnable<String> remover = Cast.to(watchers.add(this.watcher()));
+
+        this.checkEquals(true, remover.isActive());
+
+        remover.run();
+        this.checkEquals(false, remover.isActive());
+        this.checkEquals(true, watchers.isEmpty(), "isEmpty");
+    }
+
+    @Test
+    public void testRunTwice() {
+        final Watchers<String> watchers = Watchers.create();
+        final Runnable remover = watchers.add(this.watcher());
+        remover.run();
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        remover.run();
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    @Test
+    public void testMovedWhenSecondAdded() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final WatchersSingleRemovingRunnable<String> remover = Cast.to(watchers.add((s) -> fired.add("first " + s)));
+        watchers.add((s) -> fired.add("second " + s));
+
+        this.checkEquals(true, remover.isActive(), "isActive");
+
+        watchers.accept(SOURCE1A);
+        remover.run();
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(false, remover.isActive(), "isActive");
+        this.checkEquals(
+            Lists.of("first " + SOURCE1A, "second " + SOURCE1A, "second " + SOURCE2B),
+            fired
+        );
+    }
+
+    @Test
+    public void testMovedKeepsPriority() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(1, (s) -> fired.add("first " + s));
+        watchers.add(2, (s) -> fired.add("second " + s));
+        watchers.addOnce((s) -> fired.add("once " + s));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(
+            Lists.of("second " + SOURCE1A, "first " + SOURCE1A, "once " + SOURCE1A),
+            fired
+        );
+    }
+
+    @Test
+    public void testMovedWhenOnceAdded() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((s) -> fired.add("first " + s));
+        watchers.addOnce((s) -> fired.add("once " + s));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(
+            Lists.of("first " + SOURCE1A, "once " + SOURCE1A, "first " + SOURCE2B),
+            fired
+        );
+    }
+
+    @Test
+    public void testRemovedDuringFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable[] remover = new Runnable[1];
+        remover[0] = watchers.add(
+            (s) -> {
+                fired.add(s);
+                remover[0].run();
+            }
+        );
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+        this.checkEquals(0, watchers.count(), "count");
+    }
+
+    @Test
+    public void testWatcher() {
+        final Watchers<String> watchers = Watchers.create();
+        final Consumer<String> watcher = this.watcher();
+        final WatchersSingleRemovingRunnable<String> remover = Cast.to(watchers.add(watcher));
+
+        assertSame(watcher, remover.watcher);
+    }
+
+    @Test
+    public void testToStringActive() {
+        final Watchers<String> watchers = Watchers.create();
+        this.toStringAndCheck(
+            Cast.to(watchers.add(this.watcher())),
+            "Watcher123 Active"
+        );
+    }
+
+    @Test
+    public void testToStringRemoved() {
+        final Watchers<String> watchers = Watchers.create();
+        final Runnable remover = watchers.add(this.watcher());
+        remover.run();
+
+        this.toStringAndCheck(
+            Cast.to(remover),
+            "Watcher123 Removed"
+        );
+    }
+
+    private Consumer<String> watcher() {
+        return new Consumer<>() {
+            @Override
+            public void accept(final String s) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String toString() {
+                return "Watcher123";
+            }
+        };
+    }
+
+    @Override
+    public Class<WatchersSingleRemovingRunnable<?>> type() {
+        return Cast.to(WatchersSingleRemovingRunnable.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
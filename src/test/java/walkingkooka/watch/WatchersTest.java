@@ -24,8 +24,18 @@ import walkingkooka.collect.list.Lists;
 import walkingkooka.reflect.ClassTesting2;
 import walkingkooka.reflect.JavaVisibility;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -175,6 +185,702 @@ public final class WatchersTest implements ClassTesting2<Watchers<?>>,
         this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired2);
     }
 
+    @Test
+    public void testAddMultipleTimesRemoverRunTwiceOnlyRemovesOwnRegistration() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Consumer<String> watcher = this.watcher(fired);
+
+        final Runnable remover = watchers.add(watcher);
+        watchers.add(watcher);
+
+        remover.run();
+        remover.run();
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    @Test
+    public void testRemoveDuringFireSkipsRemovedWatcher() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable[] remover = new Runnable[1];
+
+        watchers.add((s) -> remover[0].run());
+        remover[0] = watchers.add(this.watcher(fired));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    // addAll...........................................................................................................
+
+    @Test
+    public void testAddAllNullWatchersFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.create().addAll(null)
+        );
+    }
+
+    @Test
+    public void testAddAllNullWatcherFails() {
+        final Watchers<String> watchers = Watchers.create();
+
+        assertThrows(
+            NullPointerException.class,
+            () -> watchers.addAll(
+                Arrays.asList(
+                    this.watcher(Lists.array()),
+                    null
+                )
+            )
+        );
+
+        this.toStringAndCheck(watchers, "[]");
+    }
+
+    @Test
+    public void testAddAllEmptyFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> Watchers.<String>create().addAll(Lists.empty())
+        );
+    }
+
+    @Test
+    public void testAddAllAndFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+
+        watchers.add((s) -> fired.add("before-" + s));
+        watchers.addAll(
+            Lists.of(
+                (s) -> fired.add("1-" + s),
+                (s) -> fired.add("2-" + s)
+            )
+        );
+        watchers.add((s) -> fired.add("after-" + s));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(
+            Lists.of(
+                "before-" + SOURCE1A,
+                "1-" + SOURCE1A,
+                "2-" + SOURCE1A,
+                "after-" + SOURCE1A
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddAllAndRemove() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+        final List<String> fired3 = Lists.array();
+
+        watchers.add(this.watcher(fired1));
+        final Runnable remover = watchers.addAll(
+            Lists.of(
+                this.watcher(fired2),
+                this.watcher(fired3)
+            )
+        );
+
+        watchers.accept(SOURCE1A);
+
+        remover.run();
+
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired1);
+        this.checkEquals(Lists.of(SOURCE1A), fired2);
+        this.checkEquals(Lists.of(SOURCE1A), fired3);
+    }
+
+    // add predicate....................................................................................................
+
+    @Test
+    public void testAddPredicateNullPredicateFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.<String>create()
+                .add(null, this.watcher(Lists.array()))
+        );
+    }
+
+    @Test
+    public void testAddPredicateNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.<String>create()
+                .add((s) -> true, null)
+        );
+    }
+
+    @Test
+    public void testAddPredicateAndFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Predicate<String> predicate = SOURCE1A::equals;
+
+        watchers.add(predicate, (s) -> fired.add("1-" + s));
+        watchers.add((s) -> fired.add("persistent-" + s));
+        watchers.add(predicate, (s) -> fired.add("2-" + s));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(
+            Lists.of(
+                "1-" + SOURCE1A,
+                "2-" + SOURCE1A,
+                "persistent-" + SOURCE1A,
+                "persistent-" + SOURCE2B
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddPredicateTestedOncePerFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> tested = Lists.array();
+        final Predicate<String> predicate = (s) -> tested.add(s) && false;
+
+        watchers.add(predicate, (s) -> {
+            throw new UnsupportedOperationException();
+        });
+        watchers.add(predicate, (s) -> {
+            throw new UnsupportedOperationException();
+        });
+        watchers.add(predicate, (s) -> {
+            throw new UnsupportedOperationException();
+        });
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A), tested);
+    }
+
+    @Test
+    public void testAddPredicateRemoveLastRemovesGroup() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final List<String> tested = Lists.array();
+        final Predicate<String> predicate = (s) -> tested.add(s);
+
+        final Runnable remover1 = watchers.add(predicate, this.watcher(fired));
+        final Runnable remover2 = watchers.add(predicate, this.watcher(fired));
+
+        remover1.run();
+        watchers.accept(SOURCE1A);
+
+        remover2.run();
+        remover2.run();
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+        this.checkEquals(Lists.of(SOURCE1A), tested);
+        this.checkEquals(true, watchers.isEmpty(), "isEmpty");
+
+        watchers.add(predicate, this.watcher(fired));
+        watchers.accept(SOURCE3C);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE3C), fired);
+    }
+
+    // add priority.....................................................................................................
+
+    @Test
+    public void testAddPriorityNullWatcherFails() {
+        assertThrows(NullPointerException.class,
+            () -> Watchers.create().add(1, null)
+        );
+    }
+
+    @Test
+    public void testAddPriorityHigherFiredFirst() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add((e) -> fired.add("0"));
+        watchers.add(-1, (e) -> fired.add("-1"));
+        watchers.add(2, (e) -> fired.add("2"));
+        watchers.add(1, (e) -> fired.add("1"));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of("2", "1", "0", "-1"), fired);
+    }
+
+    @Test
+    public void testAddPrioritySamePriorityAddedOrder() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(1, (e) -> fired.add("1a"));
+        watchers.add(2, (e) -> fired.add("2a"));
+        watchers.add(1, (e) -> fired.add("1b"));
+        watchers.add(2, (e) -> fired.add("2b"));
+        watchers.add(1, (e) -> fired.add("1c"));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of("2a", "2b", "1a", "1b", "1c"), fired);
+    }
+
+    @Test
+    public void testAddPriorityRemove() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable high = watchers.add(2, (e) -> fired.add("2"));
+        watchers.add(1, (e) -> fired.add("1"));
+        final Runnable low = watchers.add(0, (e) -> fired.add("0"));
+
+        high.run();
+        low.run();
+        watchers.add(3, (e) -> fired.add("3"));
+        watchers.add(0, (e) -> fired.add("0"));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of("3", "1", "0"), fired);
+    }
+
+    @Test
+    public void testAddOncePriorityMergedWithAdd() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(1, (e) -> fired.add("1"));
+        watchers.addOnce(2, (e) -> fired.add("once2"));
+        watchers.add((e) -> fired.add("0"));
+        watchers.addOnce(1, (e) -> fired.add("once1"));
+        watchers.addOnce((e) -> fired.add("once0"));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of("once2", "1", "once1", "0", "once0", "1", "0"), fired);
+    }
+
+    @Test
+    public void testAddOncePriorityRemove() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce(1, (e) -> fired.add("1"));
+        final Runnable remover = watchers.addOnce(2, (e) -> fired.add("2"));
+        watchers.addOnce(3, (e) -> fired.add("3"));
+
+        remover.run();
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of("3", "1"), fired);
+    }
+
+    // failures.........................................................................................................
+
+    @Test
+    public void testAcceptFailureFiresRemainingWatchers() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<String> fired = Lists.array();
+
+        watchers.add(this.watcher(fired));
+        watchers.add((s) -> {
+            throw thrown;
+        });
+        watchers.add(this.watcher(fired));
+
+        this.checkEquals(
+            thrown,
+            assertThrows(
+                RuntimeException.class,
+                () -> watchers.accept(SOURCE1A)
+            )
+        );
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE1A), fired);
+    }
+
+    @Test
+    public void testAcceptSeveralFailuresSuppressed() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final RuntimeException thrown1 = new RuntimeException("fail1");
+        final RuntimeException thrown2 = new RuntimeException("fail2");
+        final RuntimeException thrown3 = new RuntimeException("fail3");
+        final List<String> fired = Lists.array();
+
+        watchers.add((s) -> {
+            throw thrown1;
+        });
+        watchers.addOnce((s) -> {
+            throw thrown2;
+        });
+        watchers.add((s) -> {
+            throw thrown3;
+        });
+        watchers.addOnce(this.watcher(fired));
+
+        final RuntimeException caught = assertThrows(
+            RuntimeException.class,
+            () -> watchers.accept(SOURCE1A)
+        );
+        this.checkEquals(thrown1, caught);
+        this.checkEquals(
+            Lists.of(thrown2, thrown3),
+            Lists.of(caught.getSuppressed())
+        );
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+
+        assertThrows(
+            RuntimeException.class,
+            () -> watchers.accept(SOURCE2B)
+        );
+        this.checkEquals(Lists.of(SOURCE1A), fired, "once watchers removed");
+    }
+
+    @Test
+    public void testErrorHandlingNullErrorHandlerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.errorHandling(null)
+        );
+    }
+
+    @Test
+    public void testErrorHandling() {
+        final List<RuntimeException> failures = Lists.array();
+        final Watchers<String> watchers = Watchers.errorHandling(failures::add);
+
+        final RuntimeException thrown1 = new RuntimeException("fail1");
+        final RuntimeException thrown2 = new RuntimeException("fail2");
+        final List<String> fired = Lists.array();
+
+        watchers.add((s) -> {
+            throw thrown1;
+        });
+        watchers.add(this.watcher(fired));
+        watchers.add((s) -> {
+            throw thrown2;
+        });
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(thrown1), failures);
+        this.checkEquals(
+            Lists.of(thrown2),
+            Lists.of(thrown1.getSuppressed())
+        );
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    @Test
+    public void testErrorHandlingNoFailure() {
+        final List<RuntimeException> failures = Lists.array();
+        final Watchers<String> watchers = Watchers.errorHandling(failures::add);
+
+        final List<String> fired = Lists.array();
+        watchers.add(this.watcher(fired));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.empty(), failures);
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    // isEmpty & count..................................................................................................
+
+    @Test
+    public void testIsEmptyAndCount() {
+        final Watchers<String> watchers = Watchers.create();
+        this.isEmptyAndCountCheck(watchers, 0);
+
+        final Runnable remover1 = watchers.add(this.watcher(Lists.array()));
+        this.isEmptyAndCountCheck(watchers, 1);
+
+        final Runnable remover2 = watchers.addOnce(this.watcher(Lists.array()));
+        this.isEmptyAndCountCheck(watchers, 2);
+
+        final Predicate<String> predicate = (e) -> true;
+        final Runnable remover3 = watchers.add(predicate, this.watcher(Lists.array()));
+        watchers.add(predicate, this.watcher(Lists.array()));
+        watchers.add(predicate, this.watcher(Lists.array()));
+        watchers.add((e) -> true, this.watcher(Lists.array()));
+        this.isEmptyAndCountCheck(watchers, 6);
+
+        remover1.run();
+        remover2.run();
+        this.isEmptyAndCountCheck(watchers, 4);
+
+        remover3.run();
+        remover3.run();
+        this.isEmptyAndCountCheck(watchers, 3);
+    }
+
+    @Test
+    public void testIsEmptyAndCountPredicateRemoved() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final Predicate<String> predicate = (e) -> true;
+        final Runnable remover1 = watchers.add(predicate, this.watcher(Lists.array()));
+        final Runnable remover2 = watchers.add(predicate, this.watcher(Lists.array()));
+        this.isEmptyAndCountCheck(watchers, 2);
+
+        remover1.run();
+        remover2.run();
+        this.isEmptyAndCountCheck(watchers, 0);
+
+        watchers.add(predicate, this.watcher(Lists.array()));
+        this.isEmptyAndCountCheck(watchers, 1);
+    }
+
+    @Test
+    public void testIsEmptyAndCountAfterFire() {
+        final Watchers<String> watchers = Watchers.create();
+        watchers.addOnce(this.watcher(Lists.array()));
+        watchers.addOnce(this.watcher(Lists.array()));
+        this.isEmptyAndCountCheck(watchers, 2);
+
+        watchers.accept(SOURCE1A);
+        this.isEmptyAndCountCheck(watchers, 0);
+    }
+
+    @Test
+    public void testIsEmptyAndCountAfterRemoveOnce() {
+        final Watchers<String> watchers = Watchers.create();
+        watchers.add(this.watcher(Lists.array()));
+        watchers.addOnce(this.watcher(Lists.array()));
+
+        watchers.removeOnce();
+        this.isEmptyAndCountCheck(watchers, 1);
+    }
+
+    private void isEmptyAndCountCheck(final Watchers<?> watchers,
+                                      final int count) {
+        this.checkEquals(0 == count, watchers.isEmpty(), "isEmpty");
+        this.checkEquals(count, watchers.count(), "count");
+    }
+
+    // shrink...........................................................................................................
+
+    @Test
+    public void testShrinkAddTwiceRemoveBoth() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover1 = watchers.add(this.watcher(fired));
+        final Runnable remover2 = watchers.add((s) -> fired.add(s + "2"));
+
+        remover1.run();
+        this.isEmptyAndCountCheck(watchers, 1);
+        watchers.accept(SOURCE1A);
+
+        remover2.run();
+        remover2.run();
+        this.isEmptyAndCountCheck(watchers, 0);
+        watchers.accept(SOURCE2B);
+
+        watchers.add(this.watcher(fired));
+        watchers.accept(SOURCE3C);
+
+        this.checkEquals(Lists.of(SOURCE1A + "2", SOURCE3C), fired);
+    }
+
+    @Test
+    public void testShrinkFirstWatcherRemains() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover1 = watchers.add(this.watcher(fired));
+        final Runnable remover2 = watchers.add(this.watcher(Lists.array()));
+
+        remover2.run();
+        watchers.accept(SOURCE1A);
+
+        remover1.run();
+        this.isEmptyAndCountCheck(watchers, 0);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
+    @Test
+    public void testShrinkRemainingWatcherAttachedAgain() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover1 = watchers.add(this.watcher(Lists.array()));
+        final Runnable remover2 = watchers.add(1, (s) -> fired.add(s + "2"));
+        remover1.run();
+
+        // added again many times, each time the remaining watcher is attached and detached again
+        for (int i = 0; i < 3; i++) {
+            watchers.add((s) -> fired.add(s + "3"))
+                .run();
+        }
+
+        final Runnable remover3 = watchers.add(2, (s) -> fired.add(s + "3"));
+        watchers.add((s) -> fired.add(s + "4"));
+        watchers.accept(SOURCE1A);
+
+        remover2.run();
+        remover3.run();
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(
+            Lists.of(SOURCE1A + "3", SOURCE1A + "2", SOURCE1A + "4", SOURCE2B + "4"),
+            fired
+        );
+        this.isEmptyAndCountCheck(watchers, 1);
+    }
+
+    @Test
+    public void testShrinkRemainingWatcherRemovedDuringFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable[] remover = new Runnable[1];
+
+        watchers.add(this.watcher(Lists.array()))
+            .run();
+        remover[0] = watchers.add((s) -> {
+            fired.add(s);
+            remover[0].run();
+        });
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+        this.isEmptyAndCountCheck(watchers, 0);
+    }
+
+    @Test
+    public void testShrinkAfterOnceFired() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        final Runnable remover = watchers.add(this.watcher(fired));
+        watchers.addOnce((s) -> fired.add(s + "once"));
+
+        watchers.accept(SOURCE1A);
+        this.isEmptyAndCountCheck(watchers, 1);
+
+        watchers.accept(SOURCE2B);
+        remover.run();
+        this.isEmptyAndCountCheck(watchers, 0);
+
+        watchers.accept(SOURCE3C);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE1A + "once", SOURCE2B), fired);
+    }
+
+    @Test
+    public void testShrinkAfterOnceRemoved() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.addOnce(this.watcher(fired))
+            .run();
+        this.isEmptyAndCountCheck(watchers, 0);
+
+        watchers.addOnce(this.watcher(fired));
+        watchers.removeOnce();
+        this.isEmptyAndCountCheck(watchers, 0);
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+    }
+
+    @Test
+    public void testShrinkRemoverToString() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final Runnable remover1 = watchers.add(this.watcher("watcher1"));
+        final Runnable remover2 = watchers.add(this.watcher("watcher2"));
+        remover2.run();
+
+        this.toStringAndCheck(remover1, "watcher1 Active");
+        this.toStringAndCheck(watchers, "[watcher1]");
+
+        remover1.run();
+
+        this.toStringAndCheck(remover1, "watcher1 Removed");
+        this.toStringAndCheck(watchers, "[]");
+    }
+
+    // accept Supplier..................................................................................................
+
+    @Test
+    public void testAcceptNullSupplierFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.<String>create().accept((Supplier<String>) null)
+        );
+    }
+
+    @Test
+    public void testAcceptSupplierNoWatchers() {
+        final Watchers<String> watchers = Watchers.create();
+
+        watchers.accept(
+            () -> {
+                throw new UnsupportedOperationException();
+            }
+        );
+    }
+
+    @Test
+    public void testAcceptSupplierCalledOnce() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(this.watcher(fired));
+        watchers.addOnce(this.watcher(fired));
+        watchers.add(this.watcher(fired));
+
+        final int[] calls = new int[1];
+        watchers.accept(
+            () -> {
+                calls[0]++;
+                return SOURCE1A;
+            }
+        );
+
+        this.checkEquals(1, calls[0], "calls");
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE1A, SOURCE1A), fired);
+    }
+
+    @Test
+    public void testAcceptSupplierNullEventFails() {
+        final Watchers<String> watchers = Watchers.create();
+        watchers.add(this.watcher(Lists.array()));
+
+        assertThrows(
+            NullPointerException.class,
+            () -> watchers.accept(() -> null)
+        );
+    }
+
     // addOnce..........................................................................................................
 
     @Test
@@ -244,6 +950,92 @@ public final class WatchersTest implements ClassTesting2<Watchers<?>>,
         this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired2);
     }
 
+    @Test
+    public void testAddOnceAddAndFireOrder() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+
+        watchers.addOnce((s) -> fired.add("once1-" + s));
+        watchers.add((s) -> fired.add("persistent-" + s));
+        watchers.addOnce((s) -> fired.add("once2-" + s));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(
+            Lists.of(
+                "once1-" + SOURCE1A,
+                "persistent-" + SOURCE1A,
+                "once2-" + SOURCE1A,
+                "persistent-" + SOURCE2B
+            ),
+            fired
+        );
+    }
+
+    @Test
+    public void testAddDuringFireNotFiredUntilNext() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+
+        watchers.addOnce((s) -> watchers.add(this.watcher(fired)));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+    }
+
+    @Test
+    public void testAddOnceAndRemoveBeforeFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+        final List<String> fired3 = Lists.array();
+
+        watchers.addOnce(this.watcher(fired1));
+        watchers.addOnce(this.watcher(fired2)).run();
+        watchers.addOnce(this.watcher(fired3));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired1);
+        this.checkEquals(Lists.empty(), fired2);
+        this.checkEquals(Lists.of(SOURCE1A), fired3);
+    }
+
+    @Test
+    public void testAddOnceDuringFireFiredByNextFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+
+        watchers.addOnce((s) -> watchers.addOnce(this.watcher(fired)));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+        watchers.accept(SOURCE3C);
+
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+    }
+
+    @Test
+    public void testAddOnceFiredOnceWhenFiredRecursively() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired = Lists.array();
+
+        watchers.addOnce((s) -> watchers.accept(SOURCE2B));
+        watchers.addOnce(this.watcher(fired));
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.of(SOURCE1A), fired);
+    }
+
     // removeOnce......................................................................................................
 
     @Test
@@ -265,10 +1057,251 @@ public final class WatchersTest implements ClassTesting2<Watchers<?>>,
         this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired2);
     }
 
+    @Test
+    public void testRemoveOnceThenAddOnceAndFire() {
+        final Watchers<String> watchers = Watchers.create();
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+
+        watchers.addOnce(this.watcher(fired1));
+        watchers.removeOnce();
+        watchers.addOnce(this.watcher(fired2));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.empty(), fired1);
+        this.checkEquals(Lists.of(SOURCE1A), fired2);
+    }
+
     private Consumer<String> watcher(final List<String> fired) {
         return (s) -> fired.add(s);
     }
 
+    // async............................................................................................................
+
+    @Test
+    public void testAsyncNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.async(
+                null,
+                (e) -> {
+                }
+            )
+        );
+    }
+
+    @Test
+    public void testAsyncNullErrorHandlerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.async(
+                (r) -> {
+                },
+                null
+            )
+        );
+    }
+
+    @Test
+    public void testAsyncFireReturnsImmediately() {
+        final List<Runnable> tasks = Lists.array();
+        final Watchers<String> watchers = Watchers.async(
+            tasks::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        final List<String> fired = Lists.array();
+        watchers.add(this.watcher(fired));
+        watchers.addOnce(this.watcher(fired));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        // not fired by either queued event, which took their watchers when fired
+        watchers.addOnce(this.watcher(fired));
+
+        this.checkEquals(Lists.empty(), fired);
+        this.checkEquals(1, tasks.size(), "tasks");
+
+        tasks.get(0).run();
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE1A, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testAsyncFailureGivenToErrorHandler() {
+        final List<Runnable> tasks = Lists.array();
+        final List<RuntimeException> failures = Lists.array();
+        final Watchers<String> watchers = Watchers.async(
+            tasks::add,
+            failures::add
+        );
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<String> fired = Lists.array();
+
+        watchers.add((s) -> {
+            if (SOURCE1A.equals(s)) {
+                throw thrown;
+            }
+        });
+        watchers.add(this.watcher(fired));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        tasks.get(0).run();
+
+        this.checkEquals(Lists.of(thrown), failures);
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testAsyncPerWatcher() {
+        final List<Runnable> tasks = Lists.array();
+        final Watchers<String> watchers = Watchers.asyncPerWatcher(
+            tasks::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+        watchers.add(this.watcher(fired1));
+        watchers.add(this.watcher(fired2));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(2, tasks.size(), "tasks");
+
+        tasks.get(1).run();
+
+        this.checkEquals(Lists.empty(), fired1);
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired2);
+
+        tasks.get(0).run();
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired1);
+    }
+
+    @Test
+    public void testAsyncPerWatcherErrorHandlerThrows() {
+        final List<Runnable> tasks = Lists.array();
+        final Watchers<String> watchers = Watchers.asyncPerWatcher(
+            tasks::add,
+            (e) -> {
+                throw e;
+            }
+        );
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final List<String> fired = Lists.array();
+        watchers.add((s) -> {
+            if (SOURCE1A.equals(s)) {
+                throw thrown;
+            }
+            fired.add(s);
+        });
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        assertThrows(
+            RuntimeException.class,
+            () -> tasks.get(0).run()
+        );
+        this.checkEquals(2, tasks.size(), "drain rescheduled");
+
+        tasks.get(1).run();
+        this.checkEquals(Lists.of(SOURCE2B), fired);
+
+        watchers.accept(SOURCE2B);
+        tasks.get(2).run();
+        this.checkEquals(Lists.of(SOURCE2B, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testAsyncWatchersRemovingThemselves() throws Exception {
+        this.removingThemselvesAndCheck(Watchers::async);
+    }
+
+    @Test
+    public void testAsyncPerWatcherWatchersRemovingThemselves() throws Exception {
+        this.removingThemselvesAndCheck(Watchers::asyncPerWatcher);
+    }
+
+    /**
+     * Watchers run on executor threads remove themselves, while the producer keeps adding watchers and firing.
+     */
+    private void removingThemselvesAndCheck(final BiFunction<Executor, Consumer<RuntimeException>, Watchers<String>> factory) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final List<RuntimeException> failures = Lists.copyOnWrite();
+        final AtomicInteger fired = new AtomicInteger();
+
+        try {
+            final Watchers<String> watchers = factory.apply(
+                executor,
+                failures::add
+            );
+
+            final int count = 20_000;
+            for (int i = 0; i < count; i++) {
+                final Runnable[] remover = new Runnable[1];
+                final CountDownLatch added = new CountDownLatch(1);
+
+                remover[0] = watchers.add(
+                    (s) -> {
+                        try {
+                            added.await();
+                        } catch (final InterruptedException cause) {
+                            throw new IllegalStateException(cause);
+                        }
+                        remover[0].run();
+                        fired.incrementAndGet();
+                    }
+                );
+                added.countDown();
+
+                watchers.accept(SOURCE1A);
+                watchers.count();
+            }
+
+            executor.shutdown();
+            this.checkEquals(
+                true,
+                executor.awaitTermination(30, TimeUnit.SECONDS),
+                "terminated"
+            );
+
+            this.checkEquals(Lists.empty(), failures, "failures");
+            this.checkEquals(0, watchers.count(), "count");
+            this.checkEquals(true, fired.get() >= count, "fired " + fired.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncPerWatcherToString() {
+        final Watchers<String> watchers = Watchers.asyncPerWatcher(
+            (r) -> {
+            },
+            (e) -> {
+            }
+        );
+        watchers.add(this.watcher("watcher1"));
+        watchers.addOnce(this.watcher("watcher2"));
+
+        this.toStringAndCheck(watchers, "[watcher1, watcher2]");
+    }
+
     // toString.........................................................................................................
 
     @Test
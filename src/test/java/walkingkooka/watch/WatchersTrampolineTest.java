@@ -0,0 +1,264 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersTrampolineTest implements ClassTesting2<WatchersTrampoline>,
+    ToStringTesting<WatchersTrampoline> {
+
+    @Test
+    public void testWithZeroCapacityFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WatchersTrampoline.with(0)
+        );
+    }
+
+    @Test
+    public void testTrampolineNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.trampoline(null)
+        );
+    }
+
+    @Test
+    public void testFire() {
+        final Watchers<String> watchers = Watchers.trampoline(WatchersTrampoline.with(10));
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+
+        watchers.accept("A");
+        watchers.accept("B");
+
+        this.checkEquals(Lists.of("A", "B"), fired);
+    }
+
+    @Test
+    public void testNestedFireQueuedFirstInFirstOut() {
+        final WatchersTrampoline trampoline = WatchersTrampoline.with(10);
+        final Watchers<String> parent = Watchers.trampoline(trampoline);
+        final Watchers<String> child = Watchers.trampoline(trampoline);
+
+        final List<String> fired = Lists.array();
+        parent.add((e) -> {
+            fired.add("parent1 " + e);
+            child.accept(e + "1");
+            child.accept(e + "2");
+        });
+        parent.add((e) -> fired.add("parent2 " + e));
+        child.add((e) -> {
+            fired.add("child " + e);
+            this.checkEquals(true, trampoline.isDraining(), "isDraining");
+        });
+
+        parent.accept("A");
+
+        this.checkEquals(
+            Lists.of(
+                "parent1 A",
+                "parent2 A",
+                "child A1",
+                "child A2"
+            ),
+            fired
+        );
+        this.checkEquals(false, trampoline.isDraining(), "isDraining");
+    }
+
+    @Test
+    public void testDeepChainDoesNotOverflowStack() {
+        final int depth = 1_000_000;
+        final Watchers<Integer> watchers = Watchers.trampoline(WatchersTrampoline.with(10));
+
+        final int[] last = new int[1];
+        watchers.add((i) -> {
+            last[0] = i;
+            if (i < depth) {
+                watchers.accept(i + 1);
+            }
+        });
+
+        watchers.accept(1);
+
+        this.checkEquals(depth, last[0]);
+    }
+
+    @Test
+    public void testGrowsQueue() {
+        final WatchersTrampoline trampoline = WatchersTrampoline.with(1000);
+        final Watchers<Integer> watchers = Watchers.trampoline(trampoline);
+
+        final List<Integer> fired = Lists.array();
+        watchers.add((i) -> {
+            fired.add(i);
+            if (0 == i) {
+                for (int j = 1; j < 100; j++) {
+                    watchers.accept(j);
+                }
+            }
+        });
+
+        watchers.accept(0);
+
+        this.checkEquals(100, fired.size(), "fired");
+        for (int i = 0; i < 100; i++) {
+            this.checkEquals(i, fired.get(i));
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        final WatchersTrampoline trampoline = WatchersTrampoline.with(3);
+        final Watchers<Integer> watchers = Watchers.trampoline(trampoline);
+
+        final List<Integer> fired = Lists.array();
+        watchers.add((i) -> {
+            fired.add(i);
+            if (0 == i) {
+                for (int j = 1; j < 5; j++) {
+                    watchers.accept(j);
+                }
+            }
+        });
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> watchers.accept(0)
+        );
+        this.checkEquals(Lists.of(0), fired, "events queued before the overflow are abandoned");
+
+        fired.clear();
+        watchers.accept(10);
+        this.checkEquals(Lists.of(10), fired, "reusable after overflow");
+    }
+
+    @Test
+    public void testOverflowRunaway() {
+        final WatchersTrampoline trampoline = WatchersTrampoline.with(2);
+        final Watchers<Integer> watchers = Watchers.trampoline(trampoline);
+
+        final List<Integer> fired = Lists.array();
+        watchers.add((i) -> {
+            fired.add(i);
+            if (fired.size() > 100) {
+                throw new AssertionError("Runaway not stopped");
+            }
+
+            for (int j = 0; j < 3; j++) {
+                watchers.accept(i + 1);
+            }
+        });
+
+        final IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> watchers.accept(0)
+        );
+        this.checkEquals("Trampoline overflow, more than 2 queued events", thrown.getMessage());
+        this.checkEquals(Lists.of(0), fired);
+        this.checkEquals("0/2", trampoline.toString());
+        this.checkEquals(false, trampoline.isDraining(), "isDraining");
+    }
+
+    @Test
+    public void testOverflowCaughtByWatcher() {
+        final WatchersTrampoline trampoline = WatchersTrampoline.with(2);
+        final Watchers<Integer> watchers = Watchers.trampoline(trampoline);
+
+        final List<Integer> fired = Lists.array();
+        watchers.add((i) -> {
+            fired.add(i);
+            if (fired.size() > 100) {
+                throw new AssertionError("Runaway not stopped");
+            }
+
+            for (int j = 0; j < 3; j++) {
+                try {
+                    watchers.accept(i + 1);
+                } catch (final IllegalStateException ignored) {
+                    // a watcher swallowing the overflow does not keep the cascade going
+                }
+            }
+        });
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> watchers.accept(0)
+        );
+        this.checkEquals(Lists.of(0), fired);
+    }
+
+    @Test
+    public void testFailuresThrownAfterDrain() {
+        final WatchersTrampoline trampoline = WatchersTrampoline.with(10);
+        final Watchers<String> parent = Watchers.trampoline(trampoline);
+        final Watchers<String> child = Watchers.trampoline(trampoline);
+
+        final RuntimeException thrown1 = new RuntimeException("fail1");
+        final RuntimeException thrown2 = new RuntimeException("fail2");
+        final List<String> fired = Lists.array();
+
+        parent.add((e) -> {
+            child.accept(e);
+            throw thrown1;
+        });
+        child.add((e) -> {
+            throw thrown2;
+        });
+        child.add(fired::add);
+
+        final RuntimeException caught = assertThrows(
+            RuntimeException.class,
+            () -> parent.accept("A")
+        );
+        this.checkEquals(thrown1, caught);
+        this.checkEquals(Lists.of(thrown2), Lists.of(caught.getSuppressed()));
+        this.checkEquals(Lists.of("A"), fired);
+        this.checkEquals(false, trampoline.isDraining(), "isDraining");
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            WatchersTrampoline.with(100),
+            "0/100"
+        );
+    }
+
+    @Override
+    public Class<WatchersTrampoline> type() {
+        return WatchersTrampoline.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WatchersWatchdogTest implements ClassTesting2<WatchersWatchdog>,
+    ToStringTesting<WatchersWatchdog> {
+
+    private final static long BUDGET = 10;
+
+    private final static String FAST = "Fast";
+    private final static String SLOW = "Slow";
+
+    @Test
+    public void testWithNegativeBudgetFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> WatchersWatchdog.with(-1, this.clock(), this::report)
+        );
+    }
+
+    @Test
+    public void testWithNullClockFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersWatchdog.with(BUDGET, null, this::report)
+        );
+    }
+
+    @Test
+    public void testWithNullReporterFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WatchersWatchdog.with(BUDGET, this.clock(), null)
+        );
+    }
+
+    @Test
+    public void testSetQuarantineZeroOffencesFails() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> this.watchdog().setQuarantine(0, this.tasks::add, this.failures::add)
+        );
+    }
+
+    @Test
+    public void testSetQuarantineNullExecutorFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.watchdog().setQuarantine(1, null, this.failures::add)
+        );
+    }
+
+    @Test
+    public void testSetQuarantineNullErrorHandlerFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> this.watchdog().setQuarantine(1, this.tasks::add, null)
+        );
+    }
+
+    @Test
+    public void testWatchdogNullFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> Watchers.watchdog(null)
+        );
+    }
+
+    // watchdog.........................................................................................................
+
+    @Test
+    public void testWithinBudgetNotReported() {
+        final Watchers<String> watchers = Watchers.watchdog(this.watchdog());
+
+        final List<String> fired = Lists.array();
+        watchers.add(this.watcher("watcher1", fired));
+
+        watchers.accept(FAST);
+        watchers.accept(FAST);
+
+        this.checkEquals(Lists.of(FAST, FAST), fired);
+        this.checkEquals(Lists.empty(), this.reports);
+    }
+
+    @Test
+    public void testOverBudgetReported() {
+        final Watchers<String> watchers = Watchers.watchdog(this.watchdog());
+
+        final List<String> fired = Lists.array();
+        watchers.add(this.watcher("watcher1", fired));
+        watchers.add(this.watcher("watcher2", fired));
+
+        watchers.accept(FAST);
+        watchers.accept(SLOW);
+        watchers.accept(SLOW);
+
+        this.checkEquals(Lists.of(FAST, FAST, SLOW, SLOW, SLOW, SLOW), fired);
+        this.checkEquals(
+            Lists.of(
+                "watcher1 11 1 false",
+                "watcher2 11 1 false",
+                "watcher1 11 2 false",
+                "watcher2 11 2 false"
+            ),
+            this.reports
+        );
+    }
+
+    @Test
+    public void testOverBudgetFailureReported() {
+        final Watchers<String> watchers = Watchers.watchdog(this.watchdog());
+
+        watchers.add((e) -> {
+            this.time += BUDGET + 1;
+            throw new IllegalStateException();
+        });
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> watchers.accept(SLOW)
+        );
+
+        this.checkEquals(1, this.reports.size(), "reports");
+    }
+
+    @Test
+    public void testQuarantine() {
+        final Watchers<String> watchers = Watchers.watchdog(
+            this.watchdog()
+                .setQuarantine(
+                    2,
+                    this.tasks::add,
+                    this.failures::add
+                )
+        );
+
+        final List<String> fired1 = Lists.array();
+        final List<String> fired2 = Lists.array();
+        watchers.add(this.watcher("watcher1", fired1));
+        watchers.add(fired2::add);
+
+        watchers.accept(SLOW);
+        this.checkEquals(Lists.empty(), this.tasks, "not quarantined after 1 offence");
+
+        watchers.accept(SLOW);
+        this.checkEquals(Lists.empty(), this.tasks, "quarantined after 2 offences");
+
+        watchers.accept(FAST);
+        watchers.accept(SLOW);
+
+        this.checkEquals(Lists.of(SLOW, SLOW), fired1, "quarantined events queued");
+        this.checkEquals(Lists.of(SLOW, SLOW, FAST, SLOW), fired2);
+        this.checkEquals(
+            Lists.of(
+                "watcher1 11 1 false",
+                "watcher1 11 2 true"
+            ),
+            this.reports
+        );
+
+        this.checkEquals(1, this.tasks.size(), "single drain task");
+        this.tasks.remove(0).run();
+
+        this.checkEquals(Lists.of(SLOW, SLOW, FAST, SLOW), fired1);
+        this.checkEquals(
+            Lists.of(
+                "watcher1 11 1 false",
+                "watcher1 11 2 true"
+            ),
+            this.reports,
+            "quarantined watcher not reported"
+        );
+    }
+
+    @Test
+    public void testQuarantineFailureGivenToErrorHandler() {
+        final Watchers<String> watchers = Watchers.watchdog(
+            this.watchdog()
+                .setQuarantine(
+                    1,
+                    this.tasks::add,
+                    this.failures::add
+                )
+        );
+
+        final RuntimeException thrown = new RuntimeException("fail!");
+        watchers.add((e) -> {
+            this.time += BUDGET + 1;
+            if (FAST.equals(e)) {
+                throw thrown;
+            }
+        });
+
+        watchers.accept(SLOW);
+        watchers.accept(FAST);
+
+        this.tasks.remove(0).run();
+
+        this.checkEquals(Lists.of(thrown), this.failures);
+    }
+
+    @Test
+    public void testQuarantineErrorHandlerThrows() {
+        final RuntimeException thrown = new RuntimeException("fail!");
+        final Watchers<String> watchers = Watchers.watchdog(
+            this.watchdog()
+                .setQuarantine(
+                    1,
+                    this.tasks::add,
+                    (e) -> {
+                        throw e;
+                    }
+                )
+        );
+
+        final List<String> fired = Lists.array();
+        watchers.add((e) -> {
+            this.time += BUDGET + 1;
+            if (FAST.equals(e)) {
+                throw thrown;
+            }
+            fired.add(e);
+        });
+
+        watchers.accept(SLOW);
+        watchers.accept(FAST);
+        watchers.accept(SLOW);
+
+        assertThrows(
+            RuntimeException.class,
+            () -> this.tasks.remove(0).run()
+        );
+        this.checkEquals(1, this.tasks.size(), "drain rescheduled");
+
+        this.tasks.remove(0).run();
+        this.checkEquals(Lists.of(SLOW, SLOW), fired);
+    }
+
+    private WatchersWatchdog watchdog() {
+        return WatchersWatchdog.with(
+            BUDGET,
+            this.clock(),
+            this::report
+        );
+    }
+
+    private LongSupplier clock() {
+        return () -> this.time;
+    }
+
+    private long time;
+
+    private void report(final Consumer<?> watcher,
+                        final long time,
+                        final int offences,
+                        final boolean quarantined) {
+        this.reports.add(watcher + " " + time + " " + offences + " " + quarantined);
+    }
+
+    private final List<String> reports = Lists.array();
+
+    private final List<Runnable> tasks = Lists.array();
+
+    private final List<RuntimeException> failures = Lists.array();
+
+    /**
+     * A watcher that records each event, advancing the clock past the budget for {@link #SLOW}.
+     */
+    private Consumer<String> watcher(final String toString,
+                                     final List<String> fired) {
+        return new Consumer<>() {
+            @Override
+            public void accept(final String event) {
+                fired.add(event);
+                if (SLOW.equals(event)) {
+                    WatchersWatchdogTest.this.time += BUDGET + 1;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+            this.watchdog(),
+            "budget=10"
+        );
+    }
+
+    @Test
+    public void testToStringQuarantine() {
+        this.toStringAndCheck(
+            this.watchdog()
+                .setQuarantine(
+                    3,
+                    this.tasks::add,
+                    this.failures::add
+                ),
+            "budget=10 quarantine=3"
+        );
+    }
+
+    @Override
+    public Class<WatchersWatchdog> type() {
+        return WatchersWatchdog.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -43,6 +43,45 @@ public final class WatchersWatcherRemovingRunnableTest implements ClassTesting2<
         this.toStringAndCheck(watchers.add(this.watcher()), "Watcher123 Active");
     }
 
+    @Test
+    public void testIsActive() {
+        final Watchers<String> watchers = Watchers.create();
+        watchers.add(this.watcher2()); // the first watcher is held by a WatchersSingleRemovingRunnable
+        final WatchersWatcherRemovingRunnable<Consumer<String>> remover = Cast.to(watchers.add(this.watcher()));
+
+        this.checkEquals(true, remover.isActive());
+
+        remover.run();
+        this.checkEquals(false, remover.isActive());
+    }
+
+    @Test
+    public void testRunOnceRemoved() {
+        final Watchers<String> watchers = Watchers.create();
+        final WatchersWatcherRemovingRunnable<Consumer<String>> remover = Cast.to(watchers.addOnce(this.watcher2()));
+
+        watchers.accept("Fired");
+
+        this.checkEquals(false, remover.isActive());
+        remover.run();
+    }
+
+    @Test
+    public void testIsActiveAfterRemoveOnce() {
+        final Watchers<String> watchers = Watchers.create();
+        final WatchersWatcherRemovingRunnable<Consumer<String>> remover = Cast.to(watchers.addOnce(this.watcher2()));
+
+        this.checkEquals(true, remover.isActive());
+
+        watchers.removeOnce();
+        this.checkEquals(false, remover.isActive());
+    }
+
+    private Consumer<String> watcher2() {
+        return (s) -> {
+        };
+    }
+
     private Consumer<String> watcher() {
         return new Consumer<>() {
             @Override
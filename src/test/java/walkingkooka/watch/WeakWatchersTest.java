@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.watch;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class WeakWatchersTest implements ClassTesting2<WeakWatchers<?>>,
+    ToStringTesting<WeakWatchers<?>> {
+
+    private final static String SOURCE1A = "Source1A";
+    private final static String SOURCE2B = "Source2B";
+
+    @Test
+    public void testAddWeakNullWatcherFails() {
+        assertThrows(
+            NullPointerException.class,
+            () -> WeakWatchers.create().addWeak(null)
+        );
+    }
+
+    @Test
+    public void testAddWeakAndFire() {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+
+        final List<String> fired = Lists.array();
+        final Consumer<String> watcher = fired::add;
+        watchers.addWeak(watcher);
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, SOURCE2B), fired);
+    }
+
+    @Test
+    public void testAddWeakRemove() {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+
+        final List<String> fired = Lists.array();
+        final Consumer<String> watcher = fired::add;
+        final Runnable remover = watchers.addWeak(watcher);
+
+        remover.run();
+        remover.run();
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+        this.toStringAndCheck(watchers, "[]");
+    }
+
+    @Test
+    public void testAddWeakEnqueuedExpungedByAccept() {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+
+        final List<String> fired = Lists.array();
+        final Consumer<String> watcher = fired::add;
+        final WeakWatchersReference<String> reference = Cast.to(watchers.addWeak(watcher));
+        watchers.add(this.watcher("watcher2"));
+
+        // simulate the garbage collector clearing and enqueuing the reference
+        reference.clear();
+        reference.enqueue();
+
+        watchers.accept(SOURCE1A);
+
+        this.checkEquals(Lists.empty(), fired);
+        this.toStringAndCheck(watchers, "[watcher2]");
+    }
+
+    @Test
+    public void testAddWeakEnqueuedExpungedByAdd() {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+
+        final WeakWatchersReference<String> reference = Cast.to(
+            watchers.addWeak(this.watcher("watcher1"))
+        );
+
+        reference.clear();
+        reference.enqueue();
+
+        watchers.add(this.watcher("watcher2"));
+
+        this.toStringAndCheck(watchers, "[watcher2]");
+    }
+
+    @Test
+    public void testAddWeakGarbageCollected() throws Exception {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+
+        watchers.addWeak(this.watcher("watcher1"));
+        watchers.add(this.watcher("watcher2"));
+
+        for (int i = 0; i < 50 && false == "[watcher2]".equals(watchers.toString()); i++) {
+            System.gc();
+            Thread.sleep(10);
+            watchers.accept(SOURCE1A);
+        }
+
+        this.toStringAndCheck(watchers, "[watcher2]");
+    }
+
+    @Test
+    public void testAddAndAddOnce() {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+
+        final List<String> fired = Lists.array();
+        watchers.add(fired::add);
+        watchers.addOnce((e) -> fired.add("once-" + e));
+
+        watchers.accept(SOURCE1A);
+        watchers.accept(SOURCE2B);
+
+        this.checkEquals(Lists.of(SOURCE1A, "once-" + SOURCE1A, SOURCE2B), fired);
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final WeakWatchers<String> watchers = WeakWatchers.create();
+        final Consumer<String> watcher1 = this.watcher("watcher1");
+        watchers.addWeak(watcher1);
+        watchers.add(this.watcher("watcher2"));
+
+        this.toStringAndCheck(watchers, "[watcher1, watcher2]");
+    }
+
+    private Consumer<String> watcher(final String toString) {
+        return new Consumer<>() {
+            @Override
+            public void accept(final String s) {
+            }
+
+            @Override
+            public String toString() {
+                return toString;
+            }
+        };
+    }
+
+    @Override
+    public Class<WeakWatchers<?>> type() {
+        return Cast.to(WeakWatchers.class);
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}